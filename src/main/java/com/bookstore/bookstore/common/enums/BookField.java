@@ -0,0 +1,78 @@
+package com.bookstore.bookstore.common.enums;
+
+import com.bookstore.bookstore.dto.BookDto.BookDetailsDto;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Book fields that clients may select with the {@code fields} request parameter.
+ * <p>
+ * Each field maps its JSON name to the {@code Book} attribute it is read from, or to no attribute for
+ * the author and shelf collections, which are loaded with separate batched queries.
+ * </p>
+ */
+public enum BookField {
+    ID("id", "id", BookDetailsDto::getId),
+    NAME("name", "name", BookDetailsDto::getName),
+    ORIGINAL_NAME("originalName", "originalName", BookDetailsDto::getOriginalName),
+    PAGE_COUNT("pageCount", "totalPageCount", BookDetailsDto::getPageCount),
+    ISBN("isbn", "isbn", BookDetailsDto::getIsbn),
+    PUBLICATION_DATE("publicationDate", "publicationDate", BookDetailsDto::getPublicationDate),
+    AVAILABLE_COPIES("availableCopies", "availableCopies", BookDetailsDto::getAvailableCopies),
+    GENRE("genre", "genre", BookDetailsDto::getGenre),
+    AUTHORS("authors", null, BookDetailsDto::getAuthors),
+    SHELF_CODES("shelfCodes", null, BookDetailsDto::getShelfCodes),
+    VERSION("version", "version", BookDetailsDto::getVersion);
+
+    /**
+     * Fields of {@code BookDto}, selectable on book listings.
+     */
+    public static final Set<BookField> LIST_FIELDS =
+            EnumSet.of(ID, NAME, ORIGINAL_NAME, PAGE_COUNT, ISBN, PUBLICATION_DATE, AVAILABLE_COPIES, GENRE);
+
+    /**
+     * Fields of {@code BookDetailsDto}, selectable on book details.
+     */
+    public static final Set<BookField> DETAILS_FIELDS = EnumSet.allOf(BookField.class);
+
+    private final String parameter;
+    private final String attribute;
+    private final Function<BookDetailsDto, Object> accessor;
+
+    BookField(String parameter, String attribute, Function<BookDetailsDto, Object> accessor) {
+        this.parameter = parameter;
+        this.attribute = attribute;
+        this.accessor = accessor;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * @return The {@code Book} attribute holding this field, or null if the field is a collection.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Object valueOf(BookDetailsDto book) {
+        return accessor.apply(book);
+    }
+
+    public static Optional<BookField> fromParameter(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String parameter = value.trim();
+        for (BookField field : values()) {
+            if (field.parameter.equals(parameter)) {
+                return Optional.of(field);
+            }
+        }
+        return Optional.empty();
+    }
+}
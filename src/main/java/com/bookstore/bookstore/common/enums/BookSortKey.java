@@ -0,0 +1,20 @@
+package com.bookstore.bookstore.common.enums;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum BookSortKey {
+    ID,
+    NAME;
+
+    public static Optional<BookSortKey> fromParameter(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.bookstore.bookstore.common.filter;
 
+import com.bookstore.bookstore.common.token.JwtUserPrincipal;
+import com.bookstore.bookstore.common.token.VerifiedClaimsContext;
 import com.bookstore.bookstore.common.util.JwtUtil;
-import com.bookstore.bookstore.service.CustomUserDetailsService;
+import com.bookstore.bookstore.service.CachedUserDetailsService;
+import com.bookstore.bookstore.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,19 +30,31 @@ import java.io.IOException;
  * sets the user's authentication in the {@link SecurityContextHolder}. It ensures that
  * only authenticated requests proceed to access secured endpoints.
  * </p>
+ * <p>
+ * By default the principal is loaded through {@link CachedUserDetailsService}. When
+ * {@code jwt.stateless-principal} is enabled, the principal is built from the verified token claims
+ * instead, which takes the {@code user} table off the request path at the cost of role or account
+ * changes only taking effect once the user's current access token expires.
+ * </p>
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final CachedUserDetailsService cachedUserDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean statelessPrincipal;
 
     @Autowired
     public JwtAuthenticationFilter(JwtUtil jwtUtil,
-                                   CustomUserDetailsService customUserDetailsService
+                                   CachedUserDetailsService cachedUserDetailsService,
+                                   TokenRevocationService tokenRevocationService,
+                                   @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal
     ) {
         this.jwtUtil = jwtUtil;
-        this.customUserDetailsService = customUserDetailsService;
+        this.cachedUserDetailsService = cachedUserDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     /**
@@ -45,6 +62,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * <p>
      * This method checks the request for a JWT token in the Authorization header. If a token is present and valid,
      * it loads the user details associated with the token and sets the authentication context for the current request.
+     * The token is verified only once; its claims are stored in {@link VerifiedClaimsContext} for the rest of the request.
+     * Requests carrying a revoked token are rejected with 401 Unauthorized.
      * </p>
      *
      * @param request     The HTTP request to be filtered.
@@ -61,12 +80,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = JwtUtil.getJwtFromRequest(request);
 
         if (StringUtils.hasText(jwt)) {
-            jwtUtil.validateToken(jwt, jwtUtil.getAccessTokenSecret());
+            Claims claims = jwtUtil.parseClaims(jwt, jwtUtil.getAccessTokenSecret());
+
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
+                return;
+            }
 
-            Long userId = jwtUtil.getUserIdFromToken(jwt, jwtUtil.getAccessTokenSecret());
+            VerifiedClaimsContext.set(request, claims);
 
             UserDetails userDetails;
-            userDetails = customUserDetailsService.loadUserById(userId);
+            if (statelessPrincipal) {
+                userDetails = JwtUserPrincipal.fromClaims(claims);
+            } else {
+                Long userId = Long.parseLong(claims.getSubject());
+                userDetails = cachedUserDetailsService.loadUserById(userId);
+            }
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
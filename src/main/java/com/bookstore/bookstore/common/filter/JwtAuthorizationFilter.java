@@ -1,14 +1,19 @@
 package com.bookstore.bookstore.common.filter;
 
 import com.bookstore.bookstore.common.token.RoleBasedAuthenticationToken;
+import com.bookstore.bookstore.common.token.VerifiedClaimsContext;
 import com.bookstore.bookstore.common.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,6 +26,8 @@ import javax.crypto.SecretKey;
  * <p>
  * This filter intercepts each request, validates the JWT token, and sets the user’s role
  * in the {@link SecurityContextHolder} if they are authorized. Unauthorized requests are rejected.
+ * The security context is also stored as a request attribute, so async dispatches of the same request,
+ * such as the completion of a streamed response, are authorized with it instead of bypassing authorization.
  * </p>
  */
 @Component
@@ -28,6 +35,7 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final SecretKey accessSecretKey;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
     @Autowired
     public JwtAuthorizationFilter(JwtUtil jwtUtil) {
@@ -39,7 +47,8 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
      * Processes each HTTP request, validates the JWT token present, and checks the user's role.
      * <p>
      * This method checks the Authorization header for a JWT token. If a token is present and valid,
-     * it retrieves the user's role and sets the authorization context for the current request.
+     * it retrieves the user's role and sets the authorization context for the current request. The claims verified
+     * by the authentication filter are reused, so the token is only parsed here if that filter did not run.
      * </p>
      *
      * @param request     The HTTP request to be filtered.
@@ -57,12 +66,20 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
         if (StringUtils.hasText(jwt)) {
 
-            jwtUtil.validateToken(jwt, accessSecretKey);
+            Claims claims = VerifiedClaimsContext.get(request);
+            if (claims == null) {
+                claims = jwtUtil.parseClaims(jwt, accessSecretKey);
+                VerifiedClaimsContext.set(request, claims);
+            }
 
-            String role = jwtUtil.getClaimFromToken(jwt, accessSecretKey, "role");
+            String role = claims.get("role", String.class);
 
             if ("ADMIN".equals(role) || "FINANCE".equals(role)) {
-                SecurityContextHolder.getContext().setAuthentication(new RoleBasedAuthenticationToken(role));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new RoleBasedAuthenticationToken(role));
+                SecurityContextHolder.setContext(context);
+                // This filter does not run again on async dispatches, which restore the context from the request
+                securityContextRepository.saveContext(context, request, response);
             } else {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN, "Forbidden");
                 return;
@@ -0,0 +1,54 @@
+package com.bookstore.bookstore.common.token;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built purely from the claims of a verified access token.
+ * <p>
+ * Used by the stateless authentication mode, where the user ID, username and role carried by the
+ * signed token are trusted as-is and the {@code user} table is not queried on each request.
+ * </p>
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtUserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String role;
+
+    /**
+     * Creates a principal from the claims of a verified access token.
+     *
+     * @param claims The verified access token claims.
+     * @return A {@link JwtUserPrincipal} holding the user ID, username and role from the token.
+     */
+    public static JwtUserPrincipal fromClaims(Claims claims) {
+        return new JwtUserPrincipal(
+                Long.parseLong(claims.getSubject()),
+                claims.get("username", String.class),
+                claims.get("role", String.class)
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.bookstore.bookstore.common.token;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Holds the claims of the access token that was verified for the current request.
+ * <p>
+ * The authentication filter verifies the bearer token once and stores the resulting {@link Claims}
+ * as a request attribute. Downstream filters and controllers read them from here instead
+ * of parsing and verifying the same token again.
+ * </p>
+ */
+public final class VerifiedClaimsContext {
+
+    private static final String CLAIMS_ATTRIBUTE = VerifiedClaimsContext.class.getName() + ".CLAIMS";
+
+    private VerifiedClaimsContext() {
+    }
+
+    /**
+     * Stores the verified claims on the given request.
+     *
+     * @param request The current HTTP request.
+     * @param claims  The claims of the verified access token.
+     */
+    public static void set(HttpServletRequest request, Claims claims) {
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+    }
+
+    /**
+     * Returns the verified claims stored on the given request.
+     *
+     * @param request The current HTTP request.
+     * @return The verified {@link Claims}, or {@code null} if no token was verified for this request.
+     */
+    public static Claims get(HttpServletRequest request) {
+        return (Claims) request.getAttribute(CLAIMS_ATTRIBUTE);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.bookstore.bookstore.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+public class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes the parts of a continuation token into an opaque, URL-safe string.
+     * <p>
+     * Only the last part may contain the separator, so free-text values such as sort keys
+     * must be passed last.
+     * </p>
+     *
+     * @param parts the parts of the cursor, in order
+     * @return the encoded cursor
+     */
+    public static String encode(String... parts) {
+        String joined = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(String...)}.
+     *
+     * @param cursor        the encoded cursor
+     * @param expectedParts the number of parts the cursor must contain
+     * @return the decoded parts, or empty if the cursor is malformed
+     */
+    public static Optional<String[]> decode(String cursor, int expectedParts) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, expectedParts);
+            return parts.length == expectedParts ? Optional.of(parts) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.bookstore.bookstore.common.util;
 import com.bookstore.bookstore.common.ErrorResponse;
 import com.bookstore.bookstore.exception.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.client.ResourceAccessException;
@@ -103,6 +105,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles optimistic locking failures when a book was changed concurrently.
+     * <p>
+     * This method captures {@link ObjectOptimisticLockingFailureException} instances, which are thrown
+     * when an entity's version no longer matches the database at commit, meaning another request
+     * changed the same row first. It returns an HTTP 409 Conflict status so the client can retry.
+     * </p>
+     *
+     * @param ex      The {@link ObjectOptimisticLockingFailureException} describing the conflicting write.
+     * @param request The current web request during which the exception occurred.
+     * @return A {@link ResponseEntity} containing an {@link ErrorResponse} with the
+     *         error message and a status of {@link HttpStatus#CONFLICT}.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        log.warn("ObjectOptimisticLockingFailureException: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "The resource was modified concurrently, please retry.",
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles exceptions for invalid login credentials.
      * <p>
@@ -127,6 +153,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, ex.getStatusCode());
     }
 
+    /**
+     * Handles exceptions for refresh tokens that cannot be exchanged.
+     * <p>
+     * This method captures {@link InvalidRefreshTokenException} instances, which are thrown when a
+     * refresh token is malformed, expired, unknown, or already used. It returns an error response
+     * with a specific message and an HTTP 401 Unauthorized status.
+     * </p>
+     *
+     * @param ex      The {@link InvalidRefreshTokenException} indicating an unusable refresh token.
+     * @param request The current web request during which the exception occurred.
+     * @return A {@link ResponseEntity} containing an {@link ErrorResponse} with a
+     *         specific error message and a status of {@link HttpStatus#UNAUTHORIZED}.
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex, WebRequest request) {
+        log.warn("InvalidRefreshTokenException: {}", ex.getReason());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getReason(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+    }
+
     /**
      * Handles exceptions of type {@link InvalidFileException} thrown within the application.
      * <p>
@@ -150,6 +200,75 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles exceptions of type {@link InvalidPaginationException} thrown by cursor-paginated endpoints.
+     * <p>
+     * This exception handler catches instances of `InvalidPaginationException` that occur when a
+     * continuation token is malformed or does not match the requested sort, or when the sort is not
+     * supported. It returns a standardized {@link ErrorResponse} with a `400 Bad Request` status.
+     * </p>
+     *
+     * @param ex      the {@link InvalidPaginationException} that was thrown
+     * @param request the {@link WebRequest} during which the exception occurred, used for contextual information
+     * @return a {@link ResponseEntity} containing the {@link ErrorResponse} and a `400 Bad Request` HTTP status
+     */
+    @ExceptionHandler(InvalidPaginationException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPaginationException(InvalidPaginationException ex, WebRequest request) {
+        log.warn("InvalidPaginationException: {}", ex.getReason());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getReason(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+    }
+
+    /**
+     * Handles exceptions of type {@link InvalidFieldsException} thrown by endpoints with sparse fieldsets.
+     * <p>
+     * This exception handler catches instances of `InvalidFieldsException` that occur when the
+     * `fields` parameter names a field the resource does not expose, or selects no field at all.
+     * It returns a standardized {@link ErrorResponse} with a `400 Bad Request` status.
+     * </p>
+     *
+     * @param ex      the {@link InvalidFieldsException} that was thrown
+     * @param request the {@link WebRequest} during which the exception occurred, used for contextual information
+     * @return a {@link ResponseEntity} containing the {@link ErrorResponse} and a `400 Bad Request` HTTP status
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldsException(InvalidFieldsException ex, WebRequest request) {
+        log.warn("InvalidFieldsException: {}", ex.getReason());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getReason(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+    }
+
+    /**
+     * Handles exceptions of type {@link BatchSizeExceededException} thrown by batch endpoints.
+     * <p>
+     * This exception handler catches instances of `BatchSizeExceededException` that occur when a
+     * request asks for more items than one call may fetch. It returns a standardized
+     * {@link ErrorResponse} with a `400 Bad Request` status.
+     * </p>
+     *
+     * @param ex      the {@link BatchSizeExceededException} that was thrown
+     * @param request the {@link WebRequest} during which the exception occurred, used for contextual information
+     * @return a {@link ResponseEntity} containing the {@link ErrorResponse} and a `400 Bad Request` HTTP status
+     */
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBatchSizeExceededException(BatchSizeExceededException ex, WebRequest request) {
+        log.warn("BatchSizeExceededException: {}", ex.getReason());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getReason(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+    }
+
     /**
      * Handles exceptions of type {@link CatFactException} when a cat fact cannot be retrieved.
      * <p>
@@ -198,5 +317,54 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    /**
+     * Handles {@link ServiceOverloadedException} when a request is shed because a bounded resource is saturated.
+     * <p>
+     * This handler returns an HTTP 503 Service Unavailable status together with a {@code Retry-After}
+     * header, so clients back off instead of piling more work onto an overloaded server.
+     * </p>
+     *
+     * @param ex      the {@link ServiceOverloadedException} that was thrown
+     * @param request the {@link WebRequest} during which the exception occurred, used for contextual information
+     * @return a {@link ResponseEntity} containing the {@link ErrorResponse}, a `Retry-After` header and a
+     *         `503 Service Unavailable` HTTP status
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex, WebRequest request) {
+        log.warn("ServiceOverloadedException: {}", ex.getReason());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getReason(),
+                request.getDescription(false)
+        );
+        return ResponseEntity.status(ex.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles {@link TooManyLoginAttemptsException} when login attempts exceed the configured rate.
+     * <p>
+     * This handler returns an HTTP 429 Too Many Requests status together with a {@code Retry-After}
+     * header telling the client how long to wait before the next attempt.
+     * </p>
+     *
+     * @param ex      the {@link TooManyLoginAttemptsException} that was thrown
+     * @param request the {@link WebRequest} during which the exception occurred, used for contextual information
+     * @return a {@link ResponseEntity} containing the {@link ErrorResponse}, a `Retry-After` header and a
+     *         `429 Too Many Requests` HTTP status
+     */
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex, WebRequest request) {
+        log.warn("TooManyLoginAttemptsException: {}", ex.getReason());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getReason(),
+                request.getDescription(false)
+        );
+        return ResponseEntity.status(ex.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
 
 }
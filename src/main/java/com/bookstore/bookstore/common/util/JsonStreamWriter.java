@@ -0,0 +1,95 @@
+package com.bookstore.bookstore.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes {@code ResponseDto}-shaped JSON responses incrementally with Jackson's {@link JsonGenerator}.
+ * <p>
+ * The envelope ({@code success}, {@code data}, {@code message}) is written around the data, and each
+ * element is serialized and handed to the response as it is produced, so the full result is never held
+ * in memory. Database streams are consumed inside a read-only transaction opened on the thread that
+ * writes the response; they must yield DTO projections, not entities, so the persistence context does
+ * not grow with the result. Once writing has started the status can no longer change, so an error
+ * in the middle of a stream truncates the response and is logged.
+ * </p>
+ */
+@Slf4j
+@Component
+public class JsonStreamWriter {
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public JsonStreamWriter(
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams the elements of a database stream as the {@code data} array of the response envelope.
+     *
+     * @param message The message of the response envelope.
+     * @param source  Opens the stream; called inside a read-only transaction and closed after writing.
+     * @param <T>     The type of the elements.
+     * @return The response body.
+     */
+    public <T> StreamingResponseBody streamList(String message, Supplier<Stream<T>> source) {
+        return envelope(message, generator -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> elements = source.get()) {
+                generator.writeStartArray();
+                elements.forEach(element -> writeObject(generator, element));
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private StreamingResponseBody envelope(String message, DataWriter dataWriter) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeFieldName("data");
+                dataWriter.write(generator);
+                generator.writeStringField("message", message);
+                generator.writeEndObject();
+            } catch (RuntimeException e) {
+                log.error("Streaming response failed after writing had started: {}", e.getMessage(), e);
+                throw e;
+            }
+        };
+    }
+
+    private void writeObject(JsonGenerator generator, Object element) {
+        try {
+            generator.writeObject(element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DataWriter {
+        void write(JsonGenerator generator);
+    }
+
+}
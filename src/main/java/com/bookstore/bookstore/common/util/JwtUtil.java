@@ -1,9 +1,15 @@
 package com.bookstore.bookstore.common.util;
 
 import com.bookstore.bookstore.common.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +17,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
@@ -20,6 +31,9 @@ public class JwtUtil {
     private final SecretKey refreshSecretKey;
     private final Long accessTokenExpiration;
     private final Long refreshTokenExpiration;
+    private final JwtParser accessTokenParser;
+    private final JwtParser refreshTokenParser;
+    private final Cache<String, Claims> accessClaimsCache;
 
     public JwtUtil(
             @Value("${jwt.access-token-secret}")
@@ -32,12 +46,25 @@ public class JwtUtil {
             Long accessTokenExpiration,
 
             @Value("${jwt.refreshTokenExpiration}")
-            Long refreshTokenExpiration
+            Long refreshTokenExpiration,
+
+            @Value("${jwt.claims-cache.enabled:false}")
+            boolean claimsCacheEnabled,
+
+            @Value("${jwt.claims-cache.max-size:10000}")
+            long claimsCacheMaxSize,
+
+            MeterRegistry meterRegistry
     ) {
         this.accessSecretKey = Keys.hmacShaKeyFor(accessTokenSecret.getBytes());
         this.refreshSecretKey = Keys.hmacShaKeyFor(refreshTokenSecret.getBytes());
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.accessTokenParser = Jwts.parser().verifyWith(accessSecretKey).build();
+        this.refreshTokenParser = Jwts.parser().verifyWith(refreshSecretKey).build();
+        this.accessClaimsCache = claimsCacheEnabled
+                ? createAccessClaimsCache(claimsCacheMaxSize, meterRegistry)
+                : null;
     }
 
     public String generateAccessToken(String accessTokenId, Long userId, String username, UserRole userRole) {
@@ -63,37 +90,47 @@ public class JwtUtil {
     }
 
     public void validateToken(String token, SecretKey secretKey) throws JwtException {
-        Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
+        parseClaims(token, secretKey);
     }
 
-    public Long getUserIdFromToken(String token, SecretKey secretKey) throws JwtException {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
+    /**
+     * Verifies the signature of the given token and returns its claims.
+     * <p>
+     * Tokens signed with the access or refresh secret are verified with a parser that is built once
+     * at startup, so no parser is constructed per call. Any other key falls back to a freshly built parser.
+     * </p>
+     * <p>
+     * When the claims cache is enabled, verified access tokens are cached by a SHA-256 digest of the
+     * compact token until their {@code exp}, so repeated requests with the same token skip signature
+     * verification. Tokens that fail verification are never cached.
+     * </p>
+     *
+     * @param token     The compact JWT to verify.
+     * @param secretKey The key the token is expected to be signed with.
+     * @return The verified {@link Claims} of the token.
+     * @throws JwtException if the token is malformed, expired or its signature does not match.
+     */
+    public Claims parseClaims(String token, SecretKey secretKey) throws JwtException {
+        if (accessClaimsCache != null && secretKey == accessSecretKey) {
+            return accessClaimsCache.get(digest(token), key -> accessTokenParser
+                    .parseSignedClaims(token)
+                    .getPayload());
+        }
+        return parserFor(secretKey)
                 .parseSignedClaims(token)
                 .getPayload();
-        return Long.parseLong(claims.getSubject());
+    }
+
+    public Long getUserIdFromToken(String token, SecretKey secretKey) throws JwtException {
+        return Long.parseLong(parseClaims(token, secretKey).getSubject());
     }
 
     public String getClaimFromToken(String token, SecretKey secretKey, String claimName) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get(claimName, String.class);
+        return parseClaims(token, secretKey).get(claimName, String.class);
     }
 
     public String getTokenId(String token, SecretKey secretKey) throws JwtException {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getId();
+        return parseClaims(token, secretKey).getId();
     }
 
     /**
@@ -131,5 +168,59 @@ public class JwtUtil {
         return refreshTokenExpiration;
     }
 
+    private Cache<String, Claims> createAccessClaimsCache(long maximumSize, MeterRegistry meterRegistry) {
+        Cache<String, Claims> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return timeUntilExpiration(claims).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.claims");
+    }
+
+    private Duration timeUntilExpiration(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Duration.ofMillis(accessTokenExpiration);
+        }
+        long remaining = expiration.getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(remaining, 0));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private JwtParser parserFor(SecretKey secretKey) {
+        if (secretKey == accessSecretKey) {
+            return accessTokenParser;
+        }
+        if (secretKey == refreshSecretKey) {
+            return refreshTokenParser;
+        }
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
+
 }
 
@@ -0,0 +1,39 @@
+package com.bookstore.bookstore.common.util;
+
+import java.util.Locale;
+
+public class SearchUtils {
+
+    /**
+     * Normalizes text for the search columns: trims surrounding whitespace and lower-cases it.
+     * <p>
+     * The same normalization must be applied to stored values and to search terms, so that
+     * filters compare the indexed columns directly without wrapping them in functions.
+     * </p>
+     *
+     * @param value the text to normalize, may be null
+     * @return the normalized text, or null if the value is null
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards in a search term, using {@code !} as the escape character.
+     * A backslash is avoided because MySQL also treats it as an escape inside string literals.
+     *
+     * @param value the search term, may be null
+     * @return the escaped search term, or null if the value is null
+     */
+    public static String escapeLike(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+}
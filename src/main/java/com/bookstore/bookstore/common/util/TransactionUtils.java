@@ -0,0 +1,30 @@
+package com.bookstore.bookstore.common.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+    /**
+     * Runs the given action once the current transaction has committed.
+     * <p>
+     * Used to keep in-memory caches and indexes consistent with the database: the action only runs
+     * if the surrounding transaction commits, so a rolled-back write never reaches memory. When no
+     * transaction is active, the action runs immediately.
+     * </p>
+     *
+     * @param action the action to run after commit
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,18 +1,40 @@
 package com.bookstore.bookstore.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.bcrypt.strength:10}") int strength,
+            @Value("${security.bcrypt.target-ms:100}") long targetMillis,
+            @Value("${security.bcrypt.min-strength:10}") int minStrength,
+            @Value("${security.bcrypt.max-strength:16}") int maxStrength,
+            @Value("${security.bcrypt.samples:3}") int samples
+    ) {
+        CalibratedBCryptPasswordEncoder encoder = strength > 0
+                ? CalibratedBCryptPasswordEncoder.withStrength(strength)
+                : CalibratedBCryptPasswordEncoder.calibrate(targetMillis, minStrength, maxStrength, samples);
+
+        Gauge.builder("security.bcrypt.strength", encoder, CalibratedBCryptPasswordEncoder::getStrength)
+                .register(meterRegistry);
+        encoder.getMeasuredMillis().forEach((measuredStrength, millis) ->
+                Gauge.builder("security.bcrypt.calibration.hash.time", () -> millis)
+                        .tag("strength", String.valueOf(measuredStrength))
+                        .baseUnit("milliseconds")
+                        .register(meterRegistry));
+        return encoder;
     }
 
     @Bean
@@ -23,4 +45,3 @@ public class AppConfig {
         return new RestTemplate(factory);
     }
 }
-
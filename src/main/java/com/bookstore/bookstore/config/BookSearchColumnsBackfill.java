@@ -0,0 +1,81 @@
+package com.bookstore.bookstore.config;
+
+import com.bookstore.bookstore.common.util.SearchUtils;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Liquibase change that recomputes the {@code name_norm} and {@code original_name_norm} columns of every
+ * book with {@link SearchUtils#normalize(String)}.
+ * <p>
+ * The columns were first backfilled in SQL with {@code LOWER(TRIM(...))}, which only trims spaces and
+ * lower-cases by the column collation, while the {@code Book} entity writes them through
+ * {@link SearchUtils#normalize(String)}. Recomputing them in Java gives backfilled rows exactly the value
+ * an update of the row would store.
+ * </p>
+ */
+public class BookSearchColumnsBackfill implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 500;
+
+    private int updatedRows;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+
+        try (Statement select = connection.createStatement();
+             ResultSet books = select.executeQuery("SELECT id, name, original_name FROM book");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE book SET name_norm = ?, original_name_norm = ? WHERE id = ?")) {
+
+            int batched = 0;
+            while (books.next()) {
+                update.setString(1, SearchUtils.normalize(books.getString("name")));
+                update.setString(2, SearchUtils.normalize(books.getString("original_name")));
+                update.setLong(3, books.getLong("id"));
+                update.addBatch();
+
+                if (++batched == BATCH_SIZE) {
+                    update.executeBatch();
+                    batched = 0;
+                }
+                updatedRows++;
+            }
+            if (batched > 0) {
+                update.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Failed to backfill the book search columns", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Recomputed the search columns of " + updatedRows + " book(s)";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.bookstore.bookstore.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * BCrypt password encoder whose strength is calibrated against the hardware at startup.
+ * <p>
+ * {@link #calibrate} hashes a sample password at increasing strengths and picks the highest one whose
+ * median hash time stays within the target latency, never going below the configured minimum. As with
+ * {@link BCryptPasswordEncoder}, only stored hashes with a lower cost than the current strength are
+ * reported by {@link #upgradeEncoding}, so hashes are never downgraded and instances that chose
+ * different strengths do not rehash a password back and forth.
+ * </p>
+ */
+@Slf4j
+@Getter
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int strength;
+
+    /**
+     * Median hash time in milliseconds for every strength measured during calibration, in ascending strength order.
+     */
+    private final Map<Integer, Double> measuredMillis;
+
+    private CalibratedBCryptPasswordEncoder(int strength, Map<Integer, Double> measuredMillis) {
+        super(strength);
+        this.strength = strength;
+        this.measuredMillis = Collections.unmodifiableMap(measuredMillis);
+    }
+
+    /**
+     * Creates an encoder with a fixed strength, skipping calibration.
+     *
+     * @param strength The BCrypt log rounds to use.
+     * @return The encoder.
+     */
+    public static CalibratedBCryptPasswordEncoder withStrength(int strength) {
+        return new CalibratedBCryptPasswordEncoder(strength, Map.of());
+    }
+
+    /**
+     * Measures BCrypt hash times and creates an encoder with the highest strength that meets the target.
+     *
+     * @param targetMillis The target hash time in milliseconds.
+     * @param minStrength  The lowest strength that may be chosen, even if it exceeds the target.
+     * @param maxStrength  The highest strength that may be chosen.
+     * @param samples      The number of hashes measured per strength.
+     * @return The calibrated encoder.
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength, int samples) {
+        // Warm up the JIT so the first measured strength is not inflated
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(4));
+
+        Map<Integer, Double> measured = new LinkedHashMap<>();
+        int chosen = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            double millis = measureMillis(candidate, samples);
+            measured.put(candidate, millis);
+            log.info("BCrypt strength {} takes {} ms", candidate, String.format("%.1f", millis));
+
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+            // Every strength step doubles the cost, so stop measuring once the next one would overshoot
+            if (millis * 2 > targetMillis) {
+                break;
+            }
+        }
+
+        log.info("Calibrated BCrypt strength {} for a target of {} ms", chosen, targetMillis);
+        return new CalibratedBCryptPasswordEncoder(chosen, measured);
+    }
+
+    private static double measureMillis(int strength, int samples) {
+        long[] nanos = new long[Math.max(samples, 1)];
+        for (int i = 0; i < nanos.length; i++) {
+            String salt = BCrypt.gensalt(strength);
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2] / 1_000_000.0;
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.bookstore.bookstore.controller;
 
+import com.bookstore.bookstore.common.token.VerifiedClaimsContext;
 import com.bookstore.bookstore.dto.AuthDto.AuthResponseDto;
 import com.bookstore.bookstore.dto.AuthDto.LoginDto;
+import com.bookstore.bookstore.dto.AuthDto.RefreshTokenDto;
 import com.bookstore.bookstore.dto.ResponseDto;
 import com.bookstore.bookstore.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +11,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,15 +53,18 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class))),
             @ApiResponse(responseCode = "401", description = "Invalid login data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/login")
-    public ResponseEntity<ResponseDto<AuthResponseDto>> login(@Valid @RequestBody LoginDto loginDto) {
+    public ResponseEntity<ResponseDto<AuthResponseDto>> login(@Valid @RequestBody LoginDto loginDto,
+                                                              HttpServletRequest request) {
 
         log.info("User login attempt with username: {}", loginDto.getUsername());
         log.debug("Login request data: {}", loginDto);
 
-        AuthResponseDto authResponseDto = authService.loginUser(loginDto);
+        AuthResponseDto authResponseDto = authService.loginUser(loginDto, request.getRemoteAddr());
 
         log.info("Login successful for user: {}", loginDto.getUsername());
 
@@ -66,4 +72,64 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Exchange a refresh token for new tokens",
+            description = "Rotates the refresh token and returns a new access and refresh token pair. " +
+                    "A refresh token can be used only once; reusing it revokes all sessions of the user."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "401", description = "Invalid, expired or already used refresh token",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<ResponseDto<AuthResponseDto>> refresh(@Valid @RequestBody RefreshTokenDto refreshTokenDto) {
+
+        AuthResponseDto authResponseDto = authService.refreshTokens(refreshTokenDto);
+
+        log.info("Tokens refreshed for user ID: {}", authResponseDto.getId());
+
+        ResponseDto<AuthResponseDto> response = new ResponseDto<>(authResponseDto, "Tokens refreshed");
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Log out the current session",
+            description = "Revokes the access token used for this request and the refresh token issued with it."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Logout successful",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or revoked access token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<ResponseDto<Void>> logout(HttpServletRequest request) {
+
+        authService.logout(VerifiedClaimsContext.get(request));
+
+        ResponseDto<Void> response = new ResponseDto<>(null, "Logout successful");
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Log out all sessions",
+            description = "Revokes every access and refresh token of the authenticated user."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "All sessions logged out",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or revoked access token")
+    })
+    @PostMapping("/logout-all")
+    public ResponseEntity<ResponseDto<Integer>> logoutAllSessions(HttpServletRequest request) {
+
+        int revokedSessions = authService.logoutAllSessions(VerifiedClaimsContext.get(request));
+
+        log.info("Revoked {} session(s)", revokedSessions);
+
+        ResponseDto<Integer> response = new ResponseDto<>(revokedSessions, "All sessions logged out");
+        return ResponseEntity.ok(response);
+    }
+
 }
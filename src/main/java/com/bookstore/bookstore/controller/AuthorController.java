@@ -1,5 +1,6 @@
 package com.bookstore.bookstore.controller;
 
+import com.bookstore.bookstore.common.util.JsonStreamWriter;
 import com.bookstore.bookstore.dto.AuthorDto.AuthorsDto;
 import com.bookstore.bookstore.dto.ResponseDto;
 import com.bookstore.bookstore.service.AuthorService;
@@ -10,12 +11,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,12 +28,15 @@ import java.util.List;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final JsonStreamWriter jsonStreamWriter;
 
     @Autowired
     public AuthorController(
-            AuthorService authorService
+            AuthorService authorService,
+            JsonStreamWriter jsonStreamWriter
     ) {
         this.authorService = authorService;
+        this.jsonStreamWriter = jsonStreamWriter;
     }
 
     @Operation(
@@ -56,4 +62,26 @@ public class AuthorController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Stream authors with optional name filter",
+            description = "Streams the sorted list of authors filtered by first name starting letter, writing each author " +
+                    "as it is read from the database. The response has the same shape as all-authors."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Authors fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("all-authors/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllAuthors(
+            @RequestParam("startsWith") String letter
+    ) {
+        log.info("Received request to stream authors with filter letter: {}", letter);
+
+        StreamingResponseBody body = jsonStreamWriter.streamList(
+                "Authors fetched successfully", () -> authorService.streamAuthors(letter));
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
 }
@@ -2,9 +2,13 @@ package com.bookstore.bookstore.controller;
 
 import com.bookstore.bookstore.dto.*;
 import com.bookstore.bookstore.dto.BookDto.BookDetailsDto;
+import com.bookstore.bookstore.dto.BookDto.BookBatchDto;
 import com.bookstore.bookstore.dto.BookDto.BookDto;
+import com.bookstore.bookstore.dto.BookDto.BookSearchHitDto;
+import com.bookstore.bookstore.dto.BookDto.BookSuggestionDto;
 import com.bookstore.bookstore.dto.BookDto.CreateBookDto;
 import com.bookstore.bookstore.dto.BookDto.UpdateBookDto;
+import com.bookstore.bookstore.exception.BatchSizeExceededException;
 import com.bookstore.bookstore.exception.BookAlreadyExistsException;
 import com.bookstore.bookstore.exception.BookNotFoundException;
 import com.bookstore.bookstore.exception.InvalidFileException;
@@ -20,14 +24,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -35,6 +46,10 @@ import java.util.Map;
 @RequestMapping("/api/book")
 public class BookController {
 
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_BATCH_IDS = 100;
+
     private final BookService bookService;
 
     @Autowired
@@ -126,24 +141,47 @@ public class BookController {
 
     @Operation(
             summary = "Get book details by ID",
-            description = "Fetches the complete details of a book by its ID, including authors, genre, and shelves."
+            description = "Fetches the complete details of a book by its ID, including authors, genre, and shelves. " +
+                    "Pass a comma-separated list of fields, such as fields=name,isbn,availableCopies, to return only those fields."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Book details fetched successfully",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field selected",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Book not found",
                     content = @Content(schema = @Schema(implementation = BookNotFoundException.class)))
     })
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<ResponseDto<BookDetailsDto>> getBookById(@PathVariable Long id) {
+    public ResponseEntity<ResponseDto<?>> getBookById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
         log.info("Request received to fetch book details with ID: {}", id);
 
+        Optional<String> currentETag = bookService.getBookVersion(id).map(version -> bookETag(id, version, fields));
+        if (currentETag.isPresent() && webRequest.checkNotModified(currentETag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag.get()).build();
+        }
+
+        if (fields != null) {
+            Map<String, Object> bookFields = bookService.getBookFieldsById(id, fields);
+            ResponseDto<Map<String, Object>> response = new ResponseDto<>(bookFields, "Book details fetched successfully");
+
+            return currentETag
+                    .map(eTag -> ResponseEntity.ok().eTag(eTag))
+                    .orElseGet(ResponseEntity::ok)
+                    .body(response);
+        }
+
         BookDetailsDto bookDetailsDto = bookService.getBookById(id);
         ResponseDto<BookDetailsDto> response = new ResponseDto<>(bookDetailsDto, "Book details fetched successfully");
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(bookETag(id, bookDetailsDto.getVersion(), null))
+                .body(response);
 
     }
 
@@ -171,28 +209,167 @@ public class BookController {
 
     @Operation(
             summary = "Get a paginated list of books with filters",
-            description = "Fetches a list of books based on optional filters such as book name, ISBN, and publication year, with pagination support."
+            description = "Fetches a list of books based on optional filters such as book name, ISBN, and publication year, with pagination support. " +
+                    "Pass a comma-separated list of fields, such as fields=name,isbn,availableCopies, to return only those fields."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Books fetched successfully",
-                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field selected",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @GetMapping("/list")
-    public ResponseEntity<ResponseDto<Page<BookDto>>> getBooks(
+    public ResponseEntity<ResponseDto<Page<?>>> getBooks(
             @RequestParam(required = false) String bookName,
             @RequestParam(required = false) String isbn,
             @RequestParam(required = false) Integer year,
-            Pageable pageable) {
+            @RequestParam(required = false) String fields,
+            Pageable pageable,
+            WebRequest webRequest) {
 
         log.info("Received request to fetch books with filters - Name: {}, ISBN: {}, Year: {}, Page: {}",
                 bookName, isbn, year, pageable);
 
-        Page<BookDto> books = bookService.getBooks(bookName, isbn, year, pageable);
-        ResponseDto<Page<BookDto>> response = new ResponseDto<>(books, "Books fetched successfully");
+        String eTag = catalogETag(bookService.getCatalogVersion(), fields);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        Page<?> books = fields != null
+                ? bookService.getBookFields(bookName, isbn, year, fields, pageable)
+                : bookService.getBooks(bookName, isbn, year, pageable);
+        ResponseDto<Page<?>> response = new ResponseDto<>(books, "Books fetched successfully");
 
         log.debug("Response content: {}", response);
 
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @Operation(
+            summary = "Get the details of several books by ID",
+            description = "Fetches up to " + MAX_BATCH_IDS + " books in one request. Books are returned in the order " +
+                    "their IDs were requested, and IDs without a book are listed in missingIds."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Too many IDs requested",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/batch")
+    public ResponseEntity<ResponseDto<BookBatchDto>> getBooksByIds(@RequestParam List<Long> ids) {
+
+        log.info("Request received to fetch {} book(s) by ID", ids.size());
+
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new BatchSizeExceededException(ids.size(), MAX_BATCH_IDS);
+        }
+
+        BookBatchDto books = bookService.getBooksByIds(ids);
+        ResponseDto<BookBatchDto> response = new ResponseDto<>(books, "Books fetched successfully");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Autocomplete book titles",
+            description = "Returns books whose name or original name starts with the given prefix, ordered by the matched title. " +
+                    "Served from an in-memory index."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Suggestions fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ResponseDto<List<BookSuggestionDto>>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        int suggestionLimit = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        List<BookSuggestionDto> suggestions = bookService.suggestBooks(prefix, suggestionLimit);
+        ResponseDto<List<BookSuggestionDto>> response = new ResponseDto<>(suggestions, "Suggestions fetched successfully");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Fuzzy search books by title",
+            description = "Returns books whose name or original name is similar to the query, tolerating typos, " +
+                    "ranked by trigram similarity. Served from an in-memory index."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<ResponseDto<List<BookSearchHitDto>>> searchFuzzy(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        int hitLimit = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        List<BookSearchHitDto> hits = bookService.searchBooksFuzzy(query, hitLimit);
+        ResponseDto<List<BookSearchHitDto>> response = new ResponseDto<>(hits, "Books fetched successfully");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Get a paginated list of books with authors and shelves",
+            description = "Fetches books with their author names and shelf codes, using the same filters and pagination as the book list."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/list/details")
+    public ResponseEntity<ResponseDto<Page<BookDetailsDto>>> getBooksWithDetails(
+            @RequestParam(required = false) String bookName,
+            @RequestParam(required = false) String isbn,
+            @RequestParam(required = false) Integer year,
+            Pageable pageable) {
+
+        log.info("Received request to fetch book details with filters - Name: {}, ISBN: {}, Year: {}, Page: {}",
+                bookName, isbn, year, pageable);
+
+        Page<BookDetailsDto> books = bookService.getBooksWithDetails(bookName, isbn, year, pageable);
+        ResponseDto<Page<BookDetailsDto>> response = new ResponseDto<>(books, "Books fetched successfully");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Get a slice of books with filters using cursor pagination",
+            description = "Fetches books ordered by the given sort key and ID. Pass the returned nextCursor as the cursor " +
+                    "parameter to fetch the next slice. No total count is computed."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/list/cursor")
+    public ResponseEntity<ResponseDto<CursorPageDto<BookDto>>> getBooksSlice(
+            @RequestParam(required = false) String bookName,
+            @RequestParam(required = false) String isbn,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("Received request to fetch book slice with filters - Name: {}, ISBN: {}, Year: {}, Sort: {}, Size: {}",
+                bookName, isbn, year, sort, size);
+
+        int sliceSize = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        CursorPageDto<BookDto> books = bookService.getBooksSlice(bookName, isbn, year, sort, cursor, sliceSize);
+        ResponseDto<CursorPageDto<BookDto>> response = new ResponseDto<>(books, "Books fetched successfully");
+
         return ResponseEntity.ok(response);
     }
 
@@ -231,4 +408,28 @@ public class BookController {
         return ResponseEntity.ok(response);
     }
 
+    private static String bookETag(Long id, Long version, String fields) {
+        return "book-" + id + "-" + version + fieldsETagSuffix(fields);
+    }
+
+    private static String catalogETag(long catalogVersion, String fields) {
+        return "catalog-" + catalogVersion + fieldsETagSuffix(fields);
+    }
+
+    /**
+     * Gives each field selection its own entity tag, since its body differs from the full representation.
+     * Fields are hashed in the order the response lists them, without blanks and duplicates.
+     */
+    private static String fieldsETagSuffix(String fields) {
+        if (fields == null) {
+            return "";
+        }
+        String selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .collect(Collectors.joining(","));
+        return "-" + DigestUtils.md5DigestAsHex(selected.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
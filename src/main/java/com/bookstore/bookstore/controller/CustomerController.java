@@ -1,5 +1,6 @@
 package com.bookstore.bookstore.controller;
 
+import com.bookstore.bookstore.common.util.JsonStreamWriter;
 import com.bookstore.bookstore.dto.CustomerDto.CustomerDto;
 import com.bookstore.bookstore.dto.ResponseDto;
 import com.bookstore.bookstore.service.CustomerService;
@@ -10,12 +11,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,12 +28,15 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final JsonStreamWriter jsonStreamWriter;
 
     @Autowired
     public CustomerController(
-            CustomerService customerService
+            CustomerService customerService,
+            JsonStreamWriter jsonStreamWriter
     ) {
         this.customerService = customerService;
+        this.jsonStreamWriter = jsonStreamWriter;
     }
 
 
@@ -57,4 +63,26 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Stream customers with optional name filter",
+            description = "Streams the sorted list of customers, optionally filtered by first name starting letter, writing " +
+                    "each customer as it is read from the database. The response has the same shape as all-customers."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Customers fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/all-customers/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers(
+            @RequestParam(value = "startsWith", required = false) String letter
+    ) {
+        log.info("Received request to stream customers with filter letter: {}", letter);
+
+        StreamingResponseBody body = jsonStreamWriter.streamList(
+                "Customers fetched successfully", () -> customerService.streamCustomers(letter));
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
 }
@@ -0,0 +1,23 @@
+package com.bookstore.bookstore.dto.AuthDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object holding the keyset position of an expired token row.
+ * This DTO is used by the token purge job to walk expired rows in {@code (expires_at, id)} order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiredTokenDto {
+
+    private UUID id;
+
+    private LocalDateTime expiresAt;
+
+}
@@ -0,0 +1,22 @@
+package com.bookstore.bookstore.dto.AuthDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for handling token refresh requests.
+ * This DTO carries the refresh token that is exchanged for a new access and refresh token pair.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenDto {
+
+    @Schema(description = "The refresh token issued at login or by a previous refresh.")
+    @NotEmpty(message = "Refresh Token field must not be empty")
+    private String refreshToken;
+
+}
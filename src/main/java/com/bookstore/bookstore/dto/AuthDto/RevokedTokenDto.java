@@ -0,0 +1,25 @@
+package com.bookstore.bookstore.dto.AuthDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object describing a revoked access token.
+ * This DTO is used to load revoked token IDs into the in-memory revocation index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedTokenDto {
+
+    private UUID id;
+
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,14 @@
+package com.bookstore.bookstore.dto.BookDto;
+
+/**
+ * Read-only row of a book's association, such as an author name or a shelf code.
+ * <p>
+ * Used to load the associations of a whole batch of books with one {@code IN} query per join table
+ * instead of fetch-joining them onto the book rows.
+ * </p>
+ */
+public record BookAssociationDto(
+        Long bookId,
+        String value
+) {
+}
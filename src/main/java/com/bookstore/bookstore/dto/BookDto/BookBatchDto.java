@@ -0,0 +1,18 @@
+package com.bookstore.bookstore.dto.BookDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Result of fetching several books by ID in one request.
+ */
+public record BookBatchDto(
+
+        @Schema(description = "Details of the books that were found, in the order their IDs were requested")
+        List<BookDetailsDto> books,
+
+        @Schema(description = "Requested IDs for which no book exists", example = "[42]")
+        List<Long> missingIds
+) {
+}
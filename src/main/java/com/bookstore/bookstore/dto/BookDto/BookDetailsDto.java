@@ -45,4 +45,7 @@ public class BookDetailsDto {
     @Schema(description = "The shelf codes where the books are stored")
     private Set<String> shelfCodes;
 
+    @Schema(description = "Version of the book, incremented on every change", example = "3")
+    private Long version;
+
 }
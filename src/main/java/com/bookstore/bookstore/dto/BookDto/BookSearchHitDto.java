@@ -0,0 +1,19 @@
+package com.bookstore.bookstore.dto.BookDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Fuzzy search result for a book, holding the best matching title and its similarity to the query.
+ */
+public record BookSearchHitDto(
+
+        @Schema(description = "Unique identifier of the book", example = "1")
+        Long id,
+
+        @Schema(description = "The name or original name of the book that matched best", example = "The Divine Comedy")
+        String title,
+
+        @Schema(description = "Trigram similarity between the query and the title, from 0 to 1", example = "0.72")
+        double similarity
+) {
+}
@@ -0,0 +1,16 @@
+package com.bookstore.bookstore.dto.BookDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Autocomplete suggestion for a book, holding the matched title.
+ */
+public record BookSuggestionDto(
+
+        @Schema(description = "Unique identifier of the book", example = "1")
+        Long id,
+
+        @Schema(description = "The matched name or original name of the book", example = "The Divine Comedy")
+        String title
+) {
+}
@@ -0,0 +1,20 @@
+package com.bookstore.bookstore.dto.BookDto;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the book columns shown in book listings.
+ * <p>
+ * Instances are created directly by the query's constructor expression, so listing books does not
+ * load managed {@code Book} entities or keep dirty-checking snapshots for them.
+ * </p>
+ */
+public record BookSummaryDto(
+        String name,
+        String originalName,
+        String isbn,
+        int pageCount,
+        int availableCopies,
+        LocalDate publicationDate
+) {
+}
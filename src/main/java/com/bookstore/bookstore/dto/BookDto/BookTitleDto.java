@@ -0,0 +1,11 @@
+package com.bookstore.bookstore.dto.BookDto;
+
+/**
+ * Read-only projection of the book titles needed by the autocomplete index.
+ */
+public record BookTitleDto(
+        Long id,
+        String name,
+        String originalName
+) {
+}
@@ -0,0 +1,13 @@
+package com.bookstore.bookstore.dto.BookDto;
+
+/**
+ * Read-only projection of the book columns needed by the books-by-year index.
+ */
+public record BookYearEntryDto(
+        Long id,
+        String name,
+        String originalName,
+        int pageCount,
+        int publicationYear
+) {
+}
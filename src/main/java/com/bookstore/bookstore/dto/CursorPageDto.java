@@ -0,0 +1,39 @@
+package com.bookstore.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Slice of results returned by cursor-paginated endpoints.
+ * <p>
+ *     Unlike a page, a slice carries no total count, so no count query is needed. The next slice is
+ *     requested by passing {@code nextCursor} back as the {@code cursor} parameter.
+ * </p>
+ *
+ * @param <T> The type of the items in the slice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Slice of results with a continuation token for the next slice")
+public class CursorPageDto<T> {
+
+    @Schema(description = "Items of this slice")
+    private List<T> content;
+
+    @Schema(description = "Number of items in this slice", example = "20")
+    private int size;
+
+    @Schema(description = "Indicates if there are more items after this slice", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque continuation token for the next slice, null on the last slice")
+    private String nextCursor;
+
+}
@@ -1,5 +1,6 @@
 package com.bookstore.bookstore.entity;
 
+import com.bookstore.bookstore.common.util.SearchUtils;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -38,6 +39,20 @@ public class Book {
     )
     private String originalName;
 
+    @Setter(AccessLevel.NONE)
+    @Column(
+            name = "name_norm",
+            nullable = false
+    )
+    private String nameNorm;
+
+    @Setter(AccessLevel.NONE)
+    @Column(
+            name = "original_name_norm",
+            nullable = false
+    )
+    private String originalNameNorm;
+
     @Column(
             name = "total_page_count",
             nullable = false
@@ -56,6 +71,13 @@ public class Book {
     )
     private LocalDate publicationDate;
 
+    @Setter(AccessLevel.NONE)
+    @Column(
+            name = "publication_year",
+            nullable = false
+    )
+    private Integer publicationYear;
+
     @Column(
             name = "available_copies",
             nullable = false
@@ -67,6 +89,12 @@ public class Book {
     )
     private String genre;
 
+    @Version
+    @Column(
+            nullable = false
+    )
+    private Long version;
+
     @ManyToMany
     @JoinTable(
             name = "book_shelves",
@@ -83,4 +111,16 @@ public class Book {
     )
     private Set<Author> authors;
 
+    /**
+     * Derives the indexed search columns from the name, original name and publication date.
+     * Runs on every insert and update, so all write paths keep the columns in sync.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateSearchColumns() {
+        this.nameNorm = SearchUtils.normalize(name);
+        this.originalNameNorm = SearchUtils.normalize(originalName);
+        this.publicationYear = publicationDate != null ? publicationDate.getYear() : null;
+    }
+
 }
@@ -1,9 +1,12 @@
 package com.bookstore.bookstore.entity;
 
+import com.bookstore.bookstore.common.util.UuidUtils;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -20,8 +23,9 @@ import java.util.UUID;
 public class RefreshToken {
 
     @Id
-    @Column(columnDefinition = "CHAR(36)")
-    private String id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
 
     @OneToOne()
     @JoinColumn(
@@ -37,6 +41,15 @@ public class RefreshToken {
     )
     private Boolean isRevoked = false;
 
+    /**
+     * Set when the token was revoked by being exchanged for a new pair, as opposed to a logout.
+     */
+    @Column(
+            name = "is_rotated",
+            nullable = false
+    )
+    private Boolean isRotated = false;
+
     @Column(
             name = "expires_at",
             nullable = false
@@ -56,12 +69,12 @@ public class RefreshToken {
     private LocalDateTime updatedAt = LocalDateTime.now();
 
     /**
-     * Initializes the entity with a randomly generated UUID if not set.
+     * Initializes the entity with a time-ordered UUID if not set.
      */
     @PrePersist
     public void initializeIdIfNotSet() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = UuidUtils.generateTimeOrdered();
         }
     }
 
@@ -2,6 +2,7 @@ package com.bookstore.bookstore.entity;
 
 
 import com.bookstore.bookstore.common.enums.UserRole;
+import com.bookstore.bookstore.entity.listener.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -25,6 +26,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(UserCacheInvalidationListener.class)
 @Table(name = "user")
 public class User implements UserDetails, CredentialsContainer {
 
@@ -0,0 +1,38 @@
+package com.bookstore.bookstore.entity.listener;
+
+import com.bookstore.bookstore.common.util.TransactionUtils;
+import com.bookstore.bookstore.entity.User;
+import com.bookstore.bookstore.service.CachedUserDetailsService;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that evicts cached user details whenever a {@link User} row changes.
+ * <p>
+ * The entry is evicted as soon as the change is flushed and once more after the transaction commits,
+ * so a concurrent request cannot re-cache the old row in between.
+ * </p>
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<CachedUserDetailsService> cachedUserDetailsService;
+
+    @Autowired
+    public UserCacheInvalidationListener(ObjectProvider<CachedUserDetailsService> cachedUserDetailsService) {
+        this.cachedUserDetailsService = cachedUserDetailsService;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        cachedUserDetailsService.ifAvailable(cache -> {
+            cache.evict(user);
+            TransactionUtils.runAfterCommit(() -> cache.evict(user));
+        });
+    }
+
+}
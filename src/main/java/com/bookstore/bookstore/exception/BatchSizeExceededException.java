@@ -0,0 +1,19 @@
+package com.bookstore.bookstore.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception thrown when a batch request asks for more items than a single call may fetch.
+ * <p>
+ * This exception returns a 400 Bad Request HTTP status, indicating that the client must split the
+ * request into several smaller batches.
+ * </p>
+ */
+public class BatchSizeExceededException extends ResponseStatusException {
+
+    public BatchSizeExceededException(int requested, int maximum) {
+        super(HttpStatus.BAD_REQUEST, "Requested " + requested + " items, but at most " + maximum + " are allowed per request.");
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.bookstore.bookstore.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception thrown when the {@code fields} parameter of a request names an unknown or unsupported field.
+ * <p>
+ * This exception returns a 400 Bad Request HTTP status, indicating that only the documented fields of
+ * the returned resource may be selected.
+ * </p>
+ */
+public class InvalidFieldsException extends ResponseStatusException {
+
+    public InvalidFieldsException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+
+}
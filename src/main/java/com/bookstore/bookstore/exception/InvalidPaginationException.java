@@ -0,0 +1,19 @@
+package com.bookstore.bookstore.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception thrown when a cursor-paginated request has an invalid cursor or sort parameter.
+ * <p>
+ * This exception returns a 400 Bad Request HTTP status, indicating that the continuation token is
+ * malformed, was issued for a different sort order, or that the requested sort is not supported.
+ * </p>
+ */
+public class InvalidPaginationException extends ResponseStatusException {
+
+    public InvalidPaginationException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+
+}
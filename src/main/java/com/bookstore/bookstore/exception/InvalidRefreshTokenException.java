@@ -0,0 +1,21 @@
+package com.bookstore.bookstore.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception thrown when a refresh token cannot be exchanged for new tokens.
+ * <p>
+ * This exception triggers an HTTP 401 Unauthorized response, indicating that the refresh token
+ * is malformed, expired, unknown, or has already been used or revoked.
+ * </p>
+ */
+public class InvalidRefreshTokenException extends ResponseStatusException {
+
+    /**
+     * Constructs a new {@code InvalidRefreshTokenException} with a default message.
+     */
+    public InvalidRefreshTokenException() {
+        super(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token.");
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookstore.bookstore.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception thrown when a request is shed because a bounded resource is saturated.
+ * <p>
+ * This exception returns a 503 Service Unavailable HTTP status together with a {@code Retry-After}
+ * header, telling the client when it is worth trying again instead of letting the request queue up.
+ * </p>
+ */
+@Getter
+public class ServiceOverloadedException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "The server is busy, please try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.bookstore.bookstore.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Exception thrown when a login attempt exceeds the configured attempt rate.
+ * <p>
+ * This exception returns a 429 Too Many Requests HTTP status together with a {@code Retry-After}
+ * header, indicating how long the client should wait before trying to log in again.
+ * </p>
+ */
+@Getter
+public class TooManyLoginAttemptsException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, please try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
@@ -12,7 +12,6 @@ import com.bookstore.bookstore.entity.Shelf;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
 public class BookMapper {
@@ -98,7 +97,7 @@ public class BookMapper {
         return book;
     }
 
-    public BookDetailsDto bookToBookDetailsDto(Book book) {
+    public BookDetailsDto bookToBookDetailsDto(Book book, Set<String> authors, Set<String> shelfCodes) {
         BookDetailsDto bookDetailsDto = new BookDetailsDto();
         bookDetailsDto.setId(book.getId());
         bookDetailsDto.setName(book.getName());
@@ -108,24 +107,12 @@ public class BookMapper {
         bookDetailsDto.setPublicationDate(book.getPublicationDate());
         bookDetailsDto.setAvailableCopies(book.getAvailableCopies());
         bookDetailsDto.setGenre(book.getGenre());
-
-        // Map authors
-        bookDetailsDto.setAuthors(
-                book.getAuthors().stream()
-                        .map(author -> author.getFirstName() + " " + author.getLastName())
-                        .collect(Collectors.toSet())
-        );
-
-        // Map shelves
-        bookDetailsDto.setShelfCodes(
-                book.getShelves().stream()
-                        .map(Shelf::getCode)
-                        .collect(Collectors.toSet())
-        );
+        bookDetailsDto.setAuthors(authors);
+        bookDetailsDto.setShelfCodes(shelfCodes);
+        bookDetailsDto.setVersion(book.getVersion());
 
         return bookDetailsDto;
     }
 
-
 }
 
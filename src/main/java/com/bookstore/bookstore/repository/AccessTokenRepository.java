@@ -1,16 +1,63 @@
 package com.bookstore.bookstore.repository;
 
+import com.bookstore.bookstore.dto.AuthDto.ExpiredTokenDto;
+import com.bookstore.bookstore.dto.AuthDto.RevokedTokenDto;
 import com.bookstore.bookstore.entity.AccessToken;
 import com.bookstore.bookstore.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public interface AccessTokenRepository extends JpaRepository<AccessToken, String> {
+public interface AccessTokenRepository extends JpaRepository<AccessToken, UUID> {
 
     List<AccessToken> findAllByUser(User user);
 
+    @Query("SELECT new com.bookstore.bookstore.dto.AuthDto.RevokedTokenDto(a.id, a.expiresAt, a.updatedAt) " +
+            "FROM AccessToken a " +
+            "WHERE a.isRevoked = true AND a.updatedAt >= :since AND a.expiresAt > :now")
+    List<RevokedTokenDto> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.bookstore.bookstore.dto.AuthDto.RevokedTokenDto(a.id, a.expiresAt, a.updatedAt) " +
+            "FROM AccessToken a " +
+            "WHERE a.user.id = :userId AND a.isRevoked = false AND a.expiresAt > :now")
+    List<RevokedTokenDto> findActiveByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AccessToken a SET a.isRevoked = true, a.updatedAt = :now " +
+            "WHERE a.id = :id AND a.isRevoked = false")
+    int revokeById(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AccessToken a SET a.isRevoked = true, a.updatedAt = :now " +
+            "WHERE a.user.id = :userId AND a.isRevoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.bookstore.bookstore.dto.AuthDto.ExpiredTokenDto(a.id, a.expiresAt) " +
+            "FROM AccessToken a " +
+            "WHERE a.expiresAt < :now " +
+            "AND (a.expiresAt > :afterExpiresAt OR (a.expiresAt = :afterExpiresAt AND a.id > :afterId)) " +
+            "AND NOT EXISTS (SELECT r.id FROM RefreshToken r WHERE r.accessToken = a) " +
+            "ORDER BY a.expiresAt, a.id")
+    List<ExpiredTokenDto> findExpiredChunk(
+            @Param("now") LocalDateTime now,
+            @Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AccessToken a WHERE a.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+
 }
 
@@ -1,12 +1,34 @@
 package com.bookstore.bookstore.repository;
 
+import com.bookstore.bookstore.dto.AuthorDto.AuthorsDto;
 import com.bookstore.bookstore.entity.Author;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface AuthorRepository extends JpaRepository<Author, Long> {
 
     Optional<Author> findByFirstNameAndLastName(String firstName, String lastName);
 
+    /**
+     * Streams authors whose first name starts with the given prefix, row by row.
+     * A fetch size of {@link Integer#MIN_VALUE} makes the MySQL driver stream the result set
+     * instead of buffering it.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bookstore.bookstore.dto.AuthorDto.AuthorsDto(a.id, a.firstName, a.lastName) " +
+            "FROM Author a WHERE LOWER(a.firstName) LIKE CONCAT(:prefix, '%') ESCAPE '!' ORDER BY a.firstName, a.id")
+    Stream<AuthorsDto> streamByFirstNameStartingWith(@Param("prefix") String prefix);
+
 }
@@ -0,0 +1,27 @@
+package com.bookstore.bookstore.repository;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries selecting only the requested {@code Book} attributes, used by sparse fieldsets.
+ * <p>
+ * Each tuple element is aliased with its attribute name.
+ * </p>
+ */
+public interface BookFieldsRepository {
+
+    Page<Tuple> findFieldsWithFilters(
+            List<String> attributes,
+            String bookName,
+            String isbn,
+            Integer year,
+            Pageable pageable);
+
+    Optional<Tuple> findFieldsById(Long id, List<String> attributes);
+
+}
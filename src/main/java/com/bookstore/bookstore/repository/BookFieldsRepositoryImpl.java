@@ -0,0 +1,97 @@
+package com.bookstore.bookstore.repository;
+
+import com.bookstore.bookstore.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Criteria implementation of {@link BookFieldsRepository}.
+ * <p>
+ * The filters match {@link BookRepository#BOOK_FILTERS}, but only the given filters are added to the
+ * query. Attribute names must come from a validated list; they are resolved against the entity model,
+ * so an unknown name fails the query instead of reaching the SQL.
+ * </p>
+ */
+public class BookFieldsRepositoryImpl implements BookFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public BookFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<Tuple> findFieldsWithFilters(List<String> attributes, String bookName, String isbn, Integer year, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        query.multiselect(selections(book, attributes))
+                .where(filters(cb, book, bookName, isbn, year))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), book, cb));
+
+        List<Tuple> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Book> countRoot = countQuery.from(Book.class);
+            countQuery.select(cb.count(countRoot))
+                    .where(filters(cb, countRoot, bookName, isbn, year));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    @Override
+    public Optional<Tuple> findFieldsById(Long id, List<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        query.multiselect(selections(book, attributes))
+                .where(cb.equal(book.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    private static List<Selection<?>> selections(Root<Book> book, List<String> attributes) {
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        attributes.forEach(attribute -> selections.add(book.get(attribute).alias(attribute)));
+        return selections;
+    }
+
+    private static Predicate[] filters(CriteriaBuilder cb, Root<Book> book, String bookName, String isbn, Integer year) {
+        List<Predicate> predicates = new ArrayList<>(3);
+        if (bookName != null) {
+            String pattern = bookName + "%";
+            predicates.add(cb.or(
+                    cb.like(book.<String>get("nameNorm"), pattern, '!'),
+                    cb.like(book.<String>get("originalNameNorm"), pattern, '!')));
+        }
+        if (isbn != null) {
+            predicates.add(cb.equal(book.get("isbn"), isbn));
+        }
+        if (year != null) {
+            predicates.add(cb.equal(book.get("publicationYear"), year));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+}
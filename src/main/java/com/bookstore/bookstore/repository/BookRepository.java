@@ -1,30 +1,106 @@
 package com.bookstore.bookstore.repository;
 
+import com.bookstore.bookstore.dto.BookDto.BookAssociationDto;
+import com.bookstore.bookstore.dto.BookDto.BookSummaryDto;
+import com.bookstore.bookstore.dto.BookDto.BookTitleDto;
+import com.bookstore.bookstore.dto.BookDto.BookYearEntryDto;
 import com.bookstore.bookstore.entity.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookFieldsRepository {
+
+    String BOOK_FILTERS =
+            "(:bookName IS NULL OR b.nameNorm LIKE CONCAT(:bookName, '%') ESCAPE '!' OR b.originalNameNorm LIKE CONCAT(:bookName, '%') ESCAPE '!') " +
+            "AND (:isbn IS NULL OR b.isbn = :isbn) " +
+            "AND (:year IS NULL OR b.publicationYear = :year)";
 
     boolean existsByIsbn(String isbn);
 
-    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.authors LEFT JOIN FETCH b.shelves WHERE b.id = :id")
-    Optional<Book> findByIdWithDetails(@Param("id") Long id);
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
-    @Query("SELECT b FROM Book b WHERE " +
-            "(:bookName IS NULL OR LOWER(b.name) LIKE LOWER(CONCAT(:bookName, '%')) OR LOWER(b.originalName) LIKE LOWER(CONCAT(:bookName, '%'))) " +
-            "AND (:isbn IS NULL OR b.isbn = :isbn) " +
-            "AND (:year IS NULL OR FUNCTION('YEAR', b.publicationDate) = :year)")
-    Page<Book> findAllWithFilters(
+    /**
+     * Takes one copy of a book in a single conditional update, so concurrent sales can neither oversell
+     * nor overwrite each other's decrement. The version is incremented like an entity update would.
+     *
+     * @return 1 if a copy was taken; 0 if the book does not exist or has no copies left
+     */
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.availableCopies > 0")
+    int decrementAvailableCopies(@Param("id") Long id);
+
+    /**
+     * Adds copies to a book in a single update, without reading the current count first.
+     *
+     * @return 1 if the book was updated; 0 if it does not exist
+     */
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + :count, b.version = b.version + 1 " +
+            "WHERE b.id = :id")
+    int increaseAvailableCopies(@Param("id") Long id, @Param("count") int count);
+
+    @Query("SELECT new com.bookstore.bookstore.dto.BookDto.BookAssociationDto(b.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+            "FROM Book b JOIN b.authors a WHERE b.id IN :bookIds")
+    List<BookAssociationDto> findAuthorNamesByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT new com.bookstore.bookstore.dto.BookDto.BookAssociationDto(b.id, s.code) " +
+            "FROM Book b JOIN b.shelves s WHERE b.id IN :bookIds")
+    List<BookAssociationDto> findShelfCodesByBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT new com.bookstore.bookstore.dto.BookDto.BookYearEntryDto(" +
+            "b.id, b.name, b.originalName, b.totalPageCount, b.publicationYear) FROM Book b")
+    List<BookYearEntryDto> findAllYearEntries();
+
+    @Query("SELECT new com.bookstore.bookstore.dto.BookDto.BookTitleDto(b.id, b.name, b.originalName) FROM Book b")
+    List<BookTitleDto> findAllTitles();
+
+    @Query(value = "SELECT b FROM Book b WHERE " + BOOK_FILTERS,
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE " + BOOK_FILTERS)
+    Page<Book> findBooksWithFilters(
             @Param("bookName") String bookName,
             @Param("isbn") String isbn,
             @Param("year") Integer year,
             Pageable pageable);
 
+    @Query(value = "SELECT new com.bookstore.bookstore.dto.BookDto.BookSummaryDto(" +
+            "b.name, b.originalName, b.isbn, b.totalPageCount, b.availableCopies, b.publicationDate) " +
+            "FROM Book b WHERE " + BOOK_FILTERS,
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE " + BOOK_FILTERS)
+    Page<BookSummaryDto> findAllWithFilters(
+            @Param("bookName") String bookName,
+            @Param("isbn") String isbn,
+            @Param("year") Integer year,
+            Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE " + BOOK_FILTERS + " " +
+            "AND (:afterId IS NULL OR b.id > :afterId) " +
+            "ORDER BY b.id")
+    List<Book> findSliceOrderById(
+            @Param("bookName") String bookName,
+            @Param("isbn") String isbn,
+            @Param("year") Integer year,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE " + BOOK_FILTERS + " " +
+            "AND (:afterName IS NULL OR b.nameNorm > :afterName OR (b.nameNorm = :afterName AND b.id > :afterId)) " +
+            "ORDER BY b.nameNorm, b.id")
+    List<Book> findSliceOrderByName(
+            @Param("bookName") String bookName,
+            @Param("isbn") String isbn,
+            @Param("year") Integer year,
+            @Param("afterName") String afterName,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 
 }
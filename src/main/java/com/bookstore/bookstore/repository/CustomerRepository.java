@@ -1,15 +1,36 @@
 package com.bookstore.bookstore.repository;
 
+import com.bookstore.bookstore.dto.CustomerDto.CustomerDto;
 import com.bookstore.bookstore.entity.Customer;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     @Query("SELECT c FROM Customer c WHERE :letter IS NULL OR LOWER(c.firstName) LIKE LOWER(CONCAT(:letter, '%')) ORDER BY c.firstName, c.lastName")
     List<Customer> findCustomersByFirstNameStartingWith(@Param("letter") String letter);
 
+    /**
+     * Streams customers whose first name starts with the given prefix, row by row.
+     * A fetch size of {@link Integer#MIN_VALUE} makes the MySQL driver stream the result set
+     * instead of buffering it.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bookstore.bookstore.dto.CustomerDto.CustomerDto(c.id, c.firstName, c.lastName, c.address, c.email) " +
+            "FROM Customer c WHERE :prefix IS NULL OR LOWER(c.firstName) LIKE CONCAT(:prefix, '%') ESCAPE '!' " +
+            "ORDER BY c.firstName, c.lastName")
+    Stream<CustomerDto> streamByFirstNameStartingWith(@Param("prefix") String prefix);
+
 }
@@ -1,16 +1,57 @@
 package com.bookstore.bookstore.repository;
 
+import com.bookstore.bookstore.dto.AuthDto.ExpiredTokenDto;
 import com.bookstore.bookstore.entity.RefreshToken;
 import com.bookstore.bookstore.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
     List<RefreshToken> findAllByAccessToken_User(User user);
 
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.isRevoked = true, r.isRotated = true, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.isRevoked = false AND r.expiresAt > :now")
+    int rotateIfActive(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.isRevoked = true, r.updatedAt = :now " +
+            "WHERE r.accessToken.id = :accessTokenId AND r.isRevoked = false")
+    int revokeByAccessTokenId(@Param("accessTokenId") UUID accessTokenId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.isRevoked = true, r.updatedAt = :now " +
+            "WHERE r.isRevoked = false " +
+            "AND r.accessToken.id IN (SELECT a.id FROM AccessToken a WHERE a.user.id = :userId)")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.bookstore.bookstore.dto.AuthDto.ExpiredTokenDto(r.id, r.expiresAt) " +
+            "FROM RefreshToken r " +
+            "WHERE r.expiresAt < :now " +
+            "AND (r.expiresAt > :afterExpiresAt OR (r.expiresAt = :afterExpiresAt AND r.id > :afterId)) " +
+            "ORDER BY r.expiresAt, r.id")
+    List<ExpiredTokenDto> findExpiredChunk(
+            @Param("now") LocalDateTime now,
+            @Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+
 }
 
@@ -3,16 +3,27 @@ package com.bookstore.bookstore.service;
 import com.bookstore.bookstore.common.util.JwtUtil;
 import com.bookstore.bookstore.dto.AuthDto.AuthResponseDto;
 import com.bookstore.bookstore.dto.AuthDto.LoginDto;
+import com.bookstore.bookstore.dto.AuthDto.RefreshTokenDto;
 import com.bookstore.bookstore.entity.AccessToken;
 import com.bookstore.bookstore.entity.RefreshToken;
 import com.bookstore.bookstore.entity.User;
 import com.bookstore.bookstore.exception.InvalidCredentialsException;
+import com.bookstore.bookstore.exception.InvalidRefreshTokenException;
+import com.bookstore.bookstore.exception.ServiceOverloadedException;
+import com.bookstore.bookstore.exception.TooManyLoginAttemptsException;
 import com.bookstore.bookstore.repository.AuthRepository;
+import com.bookstore.bookstore.repository.RefreshTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -21,20 +32,32 @@ public class AuthService {
 
     private final AuthRepository authRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final TokenService tokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenWriteBehindQueue tokenWriteBehindQueue;
+    private final LoginThrottle loginThrottle;
 
     @Autowired
     public AuthService(
             AuthRepository authRepository,
             JwtUtil jwtUtil,
-            PasswordEncoder passwordEncoder,
-            TokenService tokenService
+            PasswordHashingExecutor passwordHashingExecutor,
+            TokenService tokenService,
+            TokenRevocationService tokenRevocationService,
+            RefreshTokenRepository refreshTokenRepository,
+            TokenWriteBehindQueue tokenWriteBehindQueue,
+            LoginThrottle loginThrottle
     ) {
         this.authRepository = authRepository;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
         this.tokenService = tokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenWriteBehindQueue = tokenWriteBehindQueue;
+        this.loginThrottle = loginThrottle;
     }
 
 
@@ -43,43 +66,122 @@ public class AuthService {
      * <p>
      * This method verifies the user's username and password. If valid, it generates a new access token
      * and a refresh token for the user. The generated tokens are stored in the database for later validation.
+     * The password check runs on the bounded {@link PasswordHashingExecutor} pool rather than the request thread.
+     * The method runs outside a transaction, so no database connection is held while the password is hashed;
+     * the user lookup, an optional rehash and the token creation each use their own short transaction.
      * </p>
      *
      * @param loginDto The data transfer object containing user login information, such as username and password.
+     * @param clientIp The address of the client, used to throttle login attempts.
      * @return A {@link AuthResponseDto} containing the access token, refresh token, and user ID.
      * @throws InvalidCredentialsException if the provided username or password is incorrect.
+     * @throws TooManyLoginAttemptsException if the username or client IP exceeded its login attempt rate.
+     * @throws ServiceOverloadedException if the password hashing pool is saturated.
      */
-    public AuthResponseDto loginUser(LoginDto loginDto) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponseDto loginUser(LoginDto loginDto, String clientIp) {
 
         log.info("Logging in user with username: {}", loginDto.getUsername());
 
+        loginThrottle.acquire(loginDto.getUsername(), clientIp);
+
         User user = authRepository.findByUsername(loginDto.getUsername())
                 .orElseThrow(InvalidCredentialsException::new);
 
         log.debug("User found with ID: {}", user.getId());
 
-        if (!passwordEncoder.matches(loginDto.getPassword(), user.getPassword())) {
+        if (!passwordHashingExecutor.matches(loginDto.getPassword(), user.getPassword())) {
             throw new InvalidCredentialsException();
         }
 
+        rehashPasswordIfNeeded(user, loginDto.getPassword());
+
         log.info("Login successful for user ID: {}", user.getId());
+
+        return issueTokens(user);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token.
+     * <p>
+     * The refresh token is verified against the refresh signing key and consumed with a single conditional
+     * update, so only one of several concurrent exchanges of the same token can succeed. The access token
+     * issued with it is revoked and a new token pair is created in the same transaction. A refresh token
+     * that has already been exchanged is treated as stolen: every session of its user is revoked. A token
+     * revoked by a logout is only rejected.
+     * </p>
+     *
+     * @param refreshTokenDto The data transfer object containing the refresh token.
+     * @return A {@link AuthResponseDto} containing the new access token, refresh token, and user ID.
+     * @throws InvalidRefreshTokenException if the refresh token is invalid, expired, unknown or already used.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthResponseDto refreshTokens(RefreshTokenDto refreshTokenDto) {
+
+        Claims claims;
+        UUID refreshTokenId;
+        try {
+            claims = jwtUtil.parseClaims(refreshTokenDto.getRefreshToken(), jwtUtil.getRefreshTokenSecret());
+            refreshTokenId = UUID.fromString(claims.getId());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Rejected refresh token: {}", e.getMessage());
+            throw new InvalidRefreshTokenException();
+        }
+
+        Long userId = Long.parseLong(claims.getSubject());
+        log.info("Refreshing tokens for user ID: {}", userId);
+
+        // Before any statement of this transaction: see TokenWriteBehindQueue.flushIfPending
+        tokenWriteBehindQueue.flushIfPending(refreshTokenId);
+        // A reused token revokes every session of the user further down this transaction
+        tokenWriteBehindQueue.flushIfUserHasPending(userId);
+
+        int consumed = refreshTokenRepository.rotateIfActive(refreshTokenId, LocalDateTime.now());
+
+        RefreshToken refreshTokenEntity = refreshTokenRepository.findById(refreshTokenId)
+                .orElseThrow(InvalidRefreshTokenException::new);
+        AccessToken accessTokenEntity = refreshTokenEntity.getAccessToken();
+        User user = accessTokenEntity.getUser();
+
+        if (!user.getId().equals(userId)) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        if (consumed == 0) {
+            if (Boolean.TRUE.equals(refreshTokenEntity.getIsRotated()) && !refreshTokenEntity.isExpired()) {
+                log.warn("Reuse of refresh token {} detected, revoking all sessions of user ID: {}", refreshTokenId, userId);
+                tokenRevocationService.revokeAllSessions(userId);
+            }
+            throw new InvalidRefreshTokenException();
+        }
+
+        tokenRevocationService.revokeToken(accessTokenEntity.getId().toString(), accessTokenEntity.getExpiresAt());
+
+        return issueTokens(user);
+    }
+
+    /**
+     * Creates a new access and refresh token pair for the user and signs the corresponding JWTs.
+     */
+    private AuthResponseDto issueTokens(User user) {
+
         log.debug("Generating access and refresh tokens for user ID: {}", user.getId());
 
-        AccessToken accessTokenEntity = tokenService.createAccessTokenEntity(user);
-        RefreshToken refreshTokenEntity = tokenService.createRefreshTokenEntity(accessTokenEntity);
+        RefreshToken refreshTokenEntity = tokenService.createTokenEntities(user);
+        AccessToken accessTokenEntity = refreshTokenEntity.getAccessToken();
 
         log.debug("Access token entity created with ID: {}", accessTokenEntity.getId());
         log.debug("Refresh token entity created with ID: {}", refreshTokenEntity.getId());
 
         String accessToken = jwtUtil.generateAccessToken(
-                accessTokenEntity.getId(),
+                accessTokenEntity.getId().toString(),
                 user.getId(),
-                user.getEmail(),
+                user.getUsername(),
                 user.getUserRole()
         );
 
         String refreshToken = jwtUtil.generateRefreshToken(
-                refreshTokenEntity.getId(),
+                refreshTokenEntity.getId().toString(),
                 user.getId()
         );
 
@@ -93,4 +195,50 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Re-encodes the user's password when its stored BCrypt cost is lower than the current strength.
+     * <p>
+     * The rehash is best effort: if the hashing pool is saturated, the login still succeeds and the
+     * password is rehashed on a later login.
+     * </p>
+     */
+    private void rehashPasswordIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingExecutor.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordHashingExecutor.encode(rawPassword));
+            authRepository.save(user);
+            log.info("Rehashed password for user ID: {}", user.getId());
+        } catch (ServiceOverloadedException e) {
+            log.warn("Skipped password rehash for user ID: {}, hashing pool is saturated", user.getId());
+        }
+    }
+
+    /**
+     * Logs out the current session by revoking its access token and the refresh token issued with it.
+     *
+     * @param claims The verified claims of the access token used for the request.
+     */
+    public void logout(Claims claims) {
+
+        log.info("Logging out session {} of user ID: {}", claims.getId(), claims.getSubject());
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        tokenRevocationService.revokeToken(claims.getId(), expiresAt);
+    }
+
+    /**
+     * Logs out every session of the user who owns the given access token.
+     *
+     * @param claims The verified claims of the access token used for the request.
+     * @return The number of revoked sessions.
+     */
+    public int logoutAllSessions(Claims claims) {
+
+        log.info("Logging out all sessions of user ID: {}", claims.getSubject());
+
+        return tokenRevocationService.revokeAllSessions(Long.parseLong(claims.getSubject()));
+    }
+
 }
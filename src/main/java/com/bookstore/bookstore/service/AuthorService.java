@@ -1,5 +1,6 @@
 package com.bookstore.bookstore.service;
 
+import com.bookstore.bookstore.common.util.SearchUtils;
 import com.bookstore.bookstore.dto.AuthorDto.AuthorsDto;
 import com.bookstore.bookstore.mapper.AuthorMapper;
 import com.bookstore.bookstore.repository.AuthorRepository;
@@ -10,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -38,6 +40,21 @@ public class AuthorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Streams authors whose first name starts with the given letter, ordered by first name.
+     * <p>
+     * The stream reads the database row by row and must be consumed and closed inside the caller's transaction.
+     * </p>
+     *
+     * @param letter the case-insensitive prefix of the authors' first names
+     * @return a stream of {@link AuthorsDto}
+     */
+    public Stream<AuthorsDto> streamAuthors(String letter) {
+        log.info("Streaming authors with filter startsWith: {}", letter);
+
+        return authorRepository.streamByFirstNameStartingWith(SearchUtils.escapeLike(SearchUtils.normalize(letter)));
+    }
+
 
 
 }
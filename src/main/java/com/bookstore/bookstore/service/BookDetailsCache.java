@@ -0,0 +1,141 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.common.util.TransactionUtils;
+import com.bookstore.bookstore.dto.BookDto.BookDetailsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of {@link BookDetailsDto} keyed by book ID.
+ * <p>
+ * Every path that changes a book calls {@link #evict(Long)}. The entry is dropped right away and again
+ * once the surrounding transaction commits, so a concurrent read that loaded the old row before the
+ * commit cannot leave it cached; the time-to-live bounds staleness for writes that bypass the service
+ * layer. Cached DTOs are shared between callers and must not be modified. Hit ratio, evictions and load
+ * time are published through Micrometer as the {@code books.details} cache.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BookDetailsCache {
+
+    private final Cache<Long, BookDetailsDto> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public BookDetailsCache(
+            MeterRegistry meterRegistry,
+
+            @Value("${book.details-cache.enabled:true}")
+            boolean enabled,
+
+            @Value("${book.details-cache.ttl:10m}")
+            Duration ttl,
+
+            @Value("${book.details-cache.max-size:10000}")
+            long maximumSize
+    ) {
+        if (enabled) {
+            Cache<Long, BookDetailsDto> details = Caffeine.newBuilder()
+                    .expireAfterWrite(ttl)
+                    .maximumSize(maximumSize)
+                    .recordStats()
+                    .build();
+            this.cache = CaffeineCacheMetrics.monitor(meterRegistry, details, "books.details");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the cached details of a book, loading and caching them on a miss.
+     *
+     * @param bookId The ID of the book.
+     * @param loader Loads the details on a miss; exceptions are propagated and nothing is cached.
+     * @return The book details.
+     */
+    public BookDetailsDto get(Long bookId, Function<Long, BookDetailsDto> loader) {
+        if (cache == null) {
+            return loader.apply(bookId);
+        }
+        return cache.get(bookId, loader);
+    }
+
+    /**
+     * Returns the cached details of several books, loading all misses with a single call.
+     * <p>
+     * Unlike {@link #get}, a bulk load does not block evictions of the keys it is loading, so an eviction
+     * could run between the load reading a row and its result being stored. Loaded entries are therefore
+     * dropped again if any eviction happened while they were loaded; they are still returned.
+     * </p>
+     *
+     * @param bookIds The IDs of the books.
+     * @param loader  Loads the details of the missed IDs; IDs absent from its result are not cached.
+     * @return The details of the books that were cached or loaded, keyed by book ID.
+     */
+    public Map<Long, BookDetailsDto> getAll(Set<Long> bookIds, Function<Set<Long>, Map<Long, BookDetailsDto>> loader) {
+        if (cache == null) {
+            return loader.apply(bookIds);
+        }
+        Map<Long, BookDetailsDto> details = new HashMap<>(cache.getAllPresent(bookIds));
+        Set<Long> missingIds = new HashSet<>(bookIds);
+        missingIds.removeAll(details.keySet());
+        if (missingIds.isEmpty()) {
+            return details;
+        }
+
+        long evictionsBeforeLoad = evictions.get();
+        Map<Long, BookDetailsDto> loaded = loader.apply(missingIds);
+        cache.putAll(loaded);
+        // Checked after storing: an eviction counted later also invalidates after the entries were stored
+        if (evictions.get() != evictionsBeforeLoad) {
+            cache.invalidateAll(loaded.keySet());
+        }
+        details.putAll(loaded);
+        return details;
+    }
+
+    /**
+     * Returns the cached details of a book without loading them.
+     *
+     * @param bookId The ID of the book.
+     * @return The cached book details, or null if they are not cached.
+     */
+    public BookDetailsDto getIfPresent(Long bookId) {
+        return cache != null ? cache.getIfPresent(bookId) : null;
+    }
+
+    /**
+     * Evicts the cached details of a book now and again after the current transaction commits.
+     *
+     * @param bookId The ID of the changed book.
+     */
+    public void evict(Long bookId) {
+        if (cache == null || bookId == null) {
+            return;
+        }
+        invalidate(bookId);
+        TransactionUtils.runAfterCommit(() -> invalidate(bookId));
+        log.debug("Evicted cached details for book ID: {}", bookId);
+    }
+
+    private void invalidate(Long bookId) {
+        evictions.incrementAndGet();
+        cache.invalidate(bookId);
+    }
+
+}
@@ -1,28 +1,44 @@
 package com.bookstore.bookstore.service;
 
+import com.bookstore.bookstore.common.enums.BookField;
+import com.bookstore.bookstore.common.enums.BookSortKey;
 import com.bookstore.bookstore.common.util.CSVImportUtils;
+import com.bookstore.bookstore.common.util.CursorUtils;
+import com.bookstore.bookstore.common.util.SearchUtils;
+import com.bookstore.bookstore.dto.BookDto.BookAssociationDto;
+import com.bookstore.bookstore.dto.BookDto.BookBatchDto;
 import com.bookstore.bookstore.dto.BookDto.BookDetailsDto;
 import com.bookstore.bookstore.dto.BookDto.BookDto;
+import com.bookstore.bookstore.dto.BookDto.BookSearchHitDto;
+import com.bookstore.bookstore.dto.BookDto.BookSuggestionDto;
+import com.bookstore.bookstore.dto.BookDto.BookSummaryDto;
 import com.bookstore.bookstore.dto.BookDto.CreateBookDto;
 import com.bookstore.bookstore.dto.BookDto.UpdateBookDto;
+import com.bookstore.bookstore.dto.CursorPageDto;
 import com.bookstore.bookstore.exception.BookAlreadyExistsException;
 import com.bookstore.bookstore.entity.Book;
 import com.bookstore.bookstore.exception.BookNotFoundException;
+import com.bookstore.bookstore.exception.InvalidFieldsException;
 import com.bookstore.bookstore.exception.InvalidFileException;
+import com.bookstore.bookstore.exception.InvalidPaginationException;
 import com.bookstore.bookstore.mapper.BookMapper;
 import com.bookstore.bookstore.repository.BookRepository;
 import com.opencsv.exceptions.CsvValidationException;
+import jakarta.persistence.Tuple;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -33,14 +49,29 @@ public class BookService {
 
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final BookDetailsCache bookDetailsCache;
+    private final BooksByYearIndex booksByYearIndex;
+    private final CatalogVersionService catalogVersionService;
+    private final BookTitleIndex bookTitleIndex;
+    private final BookTrigramIndex bookTrigramIndex;
 
     @Autowired
     public BookService(
             BookRepository bookRepository,
-            BookMapper bookMapper
+            BookMapper bookMapper,
+            BookDetailsCache bookDetailsCache,
+            BooksByYearIndex booksByYearIndex,
+            CatalogVersionService catalogVersionService,
+            BookTitleIndex bookTitleIndex,
+            BookTrigramIndex bookTrigramIndex
     ) {
         this.bookRepository = bookRepository;
         this.bookMapper = bookMapper;
+        this.bookDetailsCache = bookDetailsCache;
+        this.booksByYearIndex = booksByYearIndex;
+        this.catalogVersionService = catalogVersionService;
+        this.bookTitleIndex = bookTitleIndex;
+        this.bookTrigramIndex = bookTrigramIndex;
     }
 
 
@@ -73,6 +104,11 @@ public class BookService {
 
         book = bookRepository.save(book);
         log.info("Book saved with ID: {}", book.getId());
+        bookDetailsCache.evict(book.getId());
+        catalogVersionService.bump(book.getId());
+        booksByYearIndex.put(book);
+        bookTitleIndex.put(book);
+        bookTrigramIndex.put(book);
 
         BookDto bookDto = bookMapper.bookToBookDto(book);
         log.debug("Mapped BookDto from Book entity: {}", bookDto);
@@ -113,6 +149,11 @@ public class BookService {
 
         book = bookRepository.save(book);
         log.info("Updated Book saved with ID: {}", book.getId());
+        bookDetailsCache.evict(bookId);
+        catalogVersionService.bump(bookId);
+        booksByYearIndex.put(book);
+        bookTitleIndex.put(book);
+        bookTrigramIndex.put(book);
 
         BookDto updatedBookDto = bookMapper.bookToBookDto(book);
         log.debug("Mapped updated BookDto from Book entity: {}", updatedBookDto);
@@ -136,6 +177,11 @@ public class BookService {
             throw new BookNotFoundException(bookId);
         }
         bookRepository.deleteById(bookId);
+        bookDetailsCache.evict(bookId);
+        catalogVersionService.bump(bookId);
+        booksByYearIndex.remove(bookId);
+        bookTitleIndex.remove(bookId);
+        bookTrigramIndex.remove(bookId);
         log.info("Deleted book with ID: {}", bookId);
     }
 
@@ -144,25 +190,251 @@ public class BookService {
      * <p>
      * This method fetches the complete details of a book, including authors, genre, and shelves.
      * If the book with the specified ID does not exist, a {@link BookNotFoundException} is thrown.
+     * Details are served from {@link BookDetailsCache}; a cache hit does not open a transaction. On a miss,
+     * the book row and its author names and shelf codes are loaded with separate queries rather than one
+     * fetch join, which would return one row per author and shelf combination.
      * </p>
      *
      * @param bookId the ID of the book to retrieve
      * @return a {@link BookDto} representing the fetched book with all associated information
      * @throws BookNotFoundException if no book with the specified ID is found in the repository
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public BookDetailsDto getBookById(Long bookId) {
-        Book book = bookRepository.findByIdWithDetails(bookId)
+        return bookDetailsCache.get(bookId, id -> {
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> new BookNotFoundException(id));
+            return toBookDetailsDtos(List.of(book)).get(0);
+        });
+    }
+
+    /**
+     * Retrieves the selected fields of a book's details.
+     * <p>
+     * When the details are cached, the fields are taken from {@link BookDetailsCache}. Otherwise only the
+     * columns of the selected fields are read, and the authors and shelves are queried only when selected.
+     * Partial details are not cached.
+     * </p>
+     *
+     * @param bookId the ID of the book to retrieve
+     * @param fields comma-separated {@link BookDetailsDto} field names to return
+     * @return the selected fields mapped to their values, in the order the fields were given
+     * @throws BookNotFoundException if no book with the specified ID is found in the repository
+     * @throws InvalidFieldsException if a field is unknown or no field is selected
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<String, Object> getBookFieldsById(Long bookId, String fields) {
+        List<BookField> selected = parseFields(fields, BookField.DETAILS_FIELDS);
+
+        BookDetailsDto cached = bookDetailsCache.getIfPresent(bookId);
+        if (cached != null) {
+            return toFieldMap(selected, field -> field.valueOf(cached));
+        }
+
+        List<String> attributes = new ArrayList<>();
+        attributes.add(BookField.ID.getAttribute());
+        selected.stream()
+                .map(BookField::getAttribute)
+                .filter(attribute -> attribute != null && !attributes.contains(attribute))
+                .forEach(attributes::add);
+        Tuple book = bookRepository.findFieldsById(bookId, attributes)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
-        return bookMapper.bookToBookDetailsDto(book);
+
+        Set<String> authors = selected.contains(BookField.AUTHORS)
+                ? groupByBookId(bookRepository.findAuthorNamesByBookIds(List.of(bookId))).getOrDefault(bookId, new HashSet<>())
+                : null;
+        Set<String> shelfCodes = selected.contains(BookField.SHELF_CODES)
+                ? groupByBookId(bookRepository.findShelfCodesByBookIds(List.of(bookId))).getOrDefault(bookId, new HashSet<>())
+                : null;
+
+        return toFieldMap(selected, field -> switch (field) {
+            case AUTHORS -> authors;
+            case SHELF_CODES -> shelfCodes;
+            default -> book.get(field.getAttribute());
+        });
+    }
+
+    /**
+     * Retrieves the details of several books by ID.
+     * <p>
+     * Details are taken from {@link BookDetailsCache} where present; all misses are loaded together with
+     * one {@code IN} query for the books and one batched query each for their authors and shelves, and
+     * then cached. Duplicate IDs are returned once.
+     * </p>
+     *
+     * @param bookIds the IDs of the books to retrieve
+     * @return the details of the found books in request order, and the IDs for which no book exists
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public BookBatchDto getBooksByIds(List<Long> bookIds) {
+        Set<Long> requestedIds = new LinkedHashSet<>(bookIds);
+        requestedIds.remove(null);
+
+        Map<Long, BookDetailsDto> found = bookDetailsCache.getAll(requestedIds, missingIds ->
+                toBookDetailsDtos(bookRepository.findAllById(missingIds)).stream()
+                        .collect(Collectors.toMap(BookDetailsDto::getId, Function.identity())));
+
+        List<BookDetailsDto> books = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long bookId : requestedIds) {
+            BookDetailsDto book = found.get(bookId);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(bookId);
+            }
+        }
+        log.info("Fetched {} of {} requested book(s)", books.size(), requestedIds.size());
+
+        return new BookBatchDto(books, missingIds);
+    }
+
+    /**
+     * Suggests books whose name or original name starts with the given prefix.
+     * <p>
+     * Suggestions are served from {@link BookTitleIndex}, so this method does not query the database.
+     * </p>
+     *
+     * @param prefix the case-insensitive title prefix
+     * @param limit the maximum number of suggestions
+     * @return the matching suggestions, ordered by the matched title
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BookSuggestionDto> suggestBooks(String prefix, int limit) {
+        return bookTitleIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Searches books by name or original name, tolerating typos.
+     * <p>
+     * Results are ranked by trigram similarity and served from {@link BookTrigramIndex}, so this method
+     * does not query the database.
+     * </p>
+     *
+     * @param query the search text
+     * @param limit the maximum number of results
+     * @return the matching books, most similar first
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BookSearchHitDto> searchBooksFuzzy(String query, int limit) {
+        return bookTrigramIndex.search(query, limit);
+    }
+
+    /**
+     * Retrieves the version of a book without loading its details.
+     * <p>
+     * The version is taken from {@link BookDetailsCache} when the details are cached, and otherwise read
+     * with a query that selects only the version column.
+     * </p>
+     *
+     * @param bookId the ID of the book
+     * @return the version of the book, or empty if the book does not exist
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<Long> getBookVersion(Long bookId) {
+        BookDetailsDto cached = bookDetailsCache.getIfPresent(bookId);
+        if (cached != null) {
+            return Optional.ofNullable(cached.getVersion());
+        }
+        return bookRepository.findVersionById(bookId);
+    }
+
+    /**
+     * Retrieves the catalog-wide version, which changes whenever any book changes.
+     *
+     * @return the current catalog version
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public long getCatalogVersion() {
+        return catalogVersionService.currentVersion();
+    }
+
+    /**
+     * Retrieves a paginated list of books with their author names and shelf codes.
+     * <p>
+     * Accepts the same filters as {@link #getBooks}. Each page costs a constant number of queries: the
+     * page of books, its count, and one batched query each for the authors and shelves of the whole page.
+     * </p>
+     *
+     * @param bookName Optional filter for searching by name or original name (case-insensitive).
+     * @param isbn Optional filter for exact ISBN match.
+     * @param year Optional filter for books published in the specified year.
+     * @param pageable Pagination information including page number and size.
+     * @return A paginated list of book details matching the given filters.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookDetailsDto> getBooksWithDetails(String bookName, String isbn, Integer year, Pageable pageable) {
+        log.info("Fetching book details with filters - Name: {}, ISBN: {}, Year: {}, Page: {}",
+                bookName, isbn, year, pageable);
+
+        String bookNamePrefix = SearchUtils.escapeLike(SearchUtils.normalize(bookName));
+        Page<Book> books = bookRepository.findBooksWithFilters(bookNamePrefix, isbn, year, pageable);
+
+        return new PageImpl<>(toBookDetailsDtos(books.getContent()), books.getPageable(), books.getTotalElements());
+    }
+
+    /**
+     * Maps books to {@link BookDetailsDto}s, loading the author names and shelf codes of all of them
+     * with one {@code IN} query per join table.
+     */
+    private List<BookDetailsDto> toBookDetailsDtos(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        List<Long> bookIds = books.stream().map(Book::getId).toList();
+
+        Map<Long, Set<String>> authorsByBookId = groupByBookId(bookRepository.findAuthorNamesByBookIds(bookIds));
+        Map<Long, Set<String>> shelfCodesByBookId = groupByBookId(bookRepository.findShelfCodesByBookIds(bookIds));
+
+        return books.stream()
+                .map(book -> bookMapper.bookToBookDetailsDto(
+                        book,
+                        authorsByBookId.getOrDefault(book.getId(), new HashSet<>()),
+                        shelfCodesByBookId.getOrDefault(book.getId(), new HashSet<>())))
+                .toList();
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter, keeping the given order and dropping duplicates.
+     */
+    private static List<BookField> parseFields(String fields, Set<BookField> allowed) {
+        Set<BookField> selected = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            BookField field = BookField.fromParameter(name)
+                    .filter(allowed::contains)
+                    .orElseThrow(() -> new InvalidFieldsException("Unknown field '" + name.trim() + "'. Allowed fields: "
+                            + allowed.stream().map(BookField::getParameter).collect(Collectors.joining(", ")) + "."));
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidFieldsException("At least one field must be selected.");
+        }
+        return List.copyOf(selected);
+    }
+
+    private static Map<String, Object> toFieldMap(List<BookField> fields, Function<BookField, Object> values) {
+        Map<String, Object> fieldMap = new LinkedHashMap<>();
+        fields.forEach(field -> fieldMap.put(field.getParameter(), values.apply(field)));
+        return fieldMap;
+    }
+
+    private static Map<Long, Set<String>> groupByBookId(List<BookAssociationDto> associations) {
+        return associations.stream()
+                .collect(Collectors.groupingBy(
+                        BookAssociationDto::bookId,
+                        Collectors.mapping(BookAssociationDto::value, Collectors.toSet())
+                ));
     }
 
     /**
      * Increases the available copies of a book by a specified count.
      * <p>
-     * This method retrieves a {@link Book} entity by its ID and increases its
-     * availableCopies attribute by the provided count. If the book with
+     * The availableCopies column is increased by the provided count with a single update
+     * statement, so concurrent increases and sales cannot overwrite each other. If the book with
      * the specified ID is not found, a {@link BookNotFoundException} is thrown.
-     * The updated book is then saved back to the repository.
      * </p>
      *
      * @param bookId the ID of the book whose available copies are to be increased
@@ -171,12 +443,12 @@ public class BookService {
      */
     public void increaseBookCopies(Long bookId, int count) {
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
-
-        book.setAvailableCopies(book.getAvailableCopies() + count);
+        if (bookRepository.increaseAvailableCopies(bookId, count) == 0) {
+            throw new BookNotFoundException(bookId);
+        }
 
-        bookRepository.save(book);
+        bookDetailsCache.evict(bookId);
+        catalogVersionService.bump(bookId);
         log.info("Increased copies for book with ID: {} by {}", bookId, count);
 
     }
@@ -185,7 +457,9 @@ public class BookService {
      * Retrieves a paginated list of books with optional filters.
      * <p>
      * This method allows filtering by book name (case-insensitive and matches names starting
-     * with the provided text), exact ISBN match, and publication year.
+     * with the provided text), exact ISBN match, and publication year. The filters run against the
+     * indexed {@code name_norm}, {@code original_name_norm} and {@code publication_year} columns.
+     * Only the listed columns are selected into a read-only projection, so no entities are loaded.
      * </p>
      *
      * @param bookName Optional filter for searching by name or original name (case-insensitive).
@@ -194,19 +468,21 @@ public class BookService {
      * @param pageable Pagination information including page number and size.
      * @return A paginated list of books matching the given filters with only the specified fields.
      */
+    @Transactional(readOnly = true)
     public Page<BookDto> getBooks(String bookName, String isbn, Integer year, Pageable pageable) {
         log.info("Fetching books with filters - Name: {}, ISBN: {}, Year: {}, Page: {}",
                 bookName, isbn, year, pageable);
 
-        Page<Book> books = bookRepository.findAllWithFilters(bookName, isbn, year, pageable);
+        String bookNamePrefix = SearchUtils.escapeLike(SearchUtils.normalize(bookName));
+        Page<BookSummaryDto> books = bookRepository.findAllWithFilters(bookNamePrefix, isbn, year, pageable);
 
         Page<BookDto> bookDto = books.map(book -> BookDto.builder()
-                .name(book.getName())
-                .originalName(book.getOriginalName())
-                .isbn(book.getIsbn())
-                .pageCount(book.getTotalPageCount())
-                .availableCopies(book.getAvailableCopies())
-                .publicationDate(book.getPublicationDate())
+                .name(book.name())
+                .originalName(book.originalName())
+                .isbn(book.isbn())
+                .pageCount(book.pageCount())
+                .availableCopies(book.availableCopies())
+                .publicationDate(book.publicationDate())
                 .build()
         );
 
@@ -215,6 +491,103 @@ public class BookService {
         return bookDto;
     }
 
+    /**
+     * Retrieves a paginated list of books with optional filters, returning only the selected fields.
+     * <p>
+     * Accepts the same filters as {@link #getBooks}. Only the columns of the selected fields are read,
+     * and each book is returned as a map from field name to value, in the order the fields were given.
+     * </p>
+     *
+     * @param bookName Optional filter for searching by name or original name (case-insensitive).
+     * @param isbn Optional filter for exact ISBN match.
+     * @param year Optional filter for books published in the specified year.
+     * @param fields Comma-separated {@code BookDto} field names to return.
+     * @param pageable Pagination information including page number and size.
+     * @return A paginated list of the selected fields of the matching books.
+     * @throws InvalidFieldsException if a field is unknown or no field is selected
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getBookFields(String bookName, String isbn, Integer year, String fields, Pageable pageable) {
+        List<BookField> selected = parseFields(fields, BookField.LIST_FIELDS);
+        log.info("Fetching book fields {} with filters - Name: {}, ISBN: {}, Year: {}, Page: {}",
+                selected, bookName, isbn, year, pageable);
+
+        String bookNamePrefix = SearchUtils.escapeLike(SearchUtils.normalize(bookName));
+        List<String> attributes = selected.stream().map(BookField::getAttribute).toList();
+        Page<Tuple> books = bookRepository.findFieldsWithFilters(attributes, bookNamePrefix, isbn, year, pageable);
+
+        return books.map(book -> toFieldMap(selected, field -> book.get(field.getAttribute())));
+    }
+
+    /**
+     * Retrieves a slice of books with optional filters using keyset (seek) pagination.
+     * <p>
+     * Books are ordered by {@code (sort column, id)}. Instead of skipping rows with an offset, the query
+     * continues after the sort key and ID encoded in the cursor, so deep slices cost the same as the first
+     * one. One extra row is fetched to tell whether another slice follows; no count query is run.
+     * </p>
+     *
+     * @param bookName Optional filter for searching by name or original name (case-insensitive).
+     * @param isbn Optional filter for exact ISBN match.
+     * @param year Optional filter for books published in the specified year.
+     * @param sort The sort key, {@code id} or {@code name}.
+     * @param cursor The continuation token from the previous slice, or null for the first slice.
+     * @param size The maximum number of books in the slice.
+     * @return A slice of books and the cursor for the next slice.
+     * @throws InvalidPaginationException if the sort key is unsupported or the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDto> getBooksSlice(String bookName, String isbn, Integer year,
+                                                String sort, String cursor, int size) {
+        log.info("Fetching book slice with filters - Name: {}, ISBN: {}, Year: {}, Sort: {}, Size: {}",
+                bookName, isbn, year, sort, size);
+
+        BookSortKey sortKey = BookSortKey.fromParameter(sort)
+                .orElseThrow(() -> new InvalidPaginationException("Unsupported sort: " + sort));
+        String bookNamePrefix = SearchUtils.escapeLike(SearchUtils.normalize(bookName));
+        Pageable limit = Pageable.ofSize(size + 1);
+
+        String afterName = null;
+        Long afterId = null;
+        if (cursor != null) {
+            String[] parts = CursorUtils.decode(cursor, 3)
+                    .filter(decoded -> decoded[0].equals(sortKey.name()))
+                    .orElseThrow(() -> new InvalidPaginationException("Invalid cursor."));
+            try {
+                afterId = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new InvalidPaginationException("Invalid cursor.");
+            }
+            afterName = parts[2];
+        }
+
+        List<Book> books = switch (sortKey) {
+            case ID -> bookRepository.findSliceOrderById(bookNamePrefix, isbn, year, afterId, limit);
+            case NAME -> bookRepository.findSliceOrderByName(bookNamePrefix, isbn, year, afterName, afterId, limit);
+        };
+
+        boolean hasNext = books.size() > size;
+        if (hasNext) {
+            books = books.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Book last = books.get(books.size() - 1);
+            String lastSortValue = sortKey == BookSortKey.NAME ? last.getNameNorm() : "";
+            nextCursor = CursorUtils.encode(sortKey.name(), String.valueOf(last.getId()), lastSortValue);
+        }
+
+        List<BookDto> content = books.stream().map(bookMapper::bookToBookDto).toList();
+
+        return CursorPageDto.<BookDto>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     /**
      * Imports a list of books from a CSV file and attempts to save each book to the database.
      * The CSV file is parsed, and each row is mapped to a `CreateBookDto` object, which is then
@@ -255,21 +628,16 @@ public class BookService {
     /**
      * Retrieves a map of books grouped by their publication year.
      * <p>
-     * This method fetches all books from the repository, filters out any books
-     * with fewer than 20 pages or with more than three words in their original name,
-     * and then groups the remaining books by their publication year.
+     * Books with fewer than 20 pages or with more than three words in their original name are excluded.
+     * The result is served from {@link BooksByYearIndex}, which is built at startup and maintained by the
+     * book write paths, so this method does not query the database.
      * </p>
      *
-     * @return a map where each key is a publication year, and each value is a list of names of books published that year.
+     * @return a map where each key is a publication year, and each value is a sorted list of names of books published that year.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Map<Integer, List<String>> getBooksByPublicationYear() {
-        return bookRepository.findAll().stream()
-                .filter(book -> book.getTotalPageCount() >= 20)
-                .filter(book -> book.getOriginalName().split("\\s+").length <= 3)
-                .collect(Collectors.groupingBy(
-                        book -> book.getPublicationDate().getYear(),
-                        Collectors.mapping(Book::getName, Collectors.toList())
-                ));
+        return booksByYearIndex.snapshot();
     }
 
 }
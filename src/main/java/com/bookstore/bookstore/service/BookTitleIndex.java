@@ -0,0 +1,159 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.common.util.SearchUtils;
+import com.bookstore.bookstore.common.util.TransactionUtils;
+import com.bookstore.bookstore.dto.BookDto.BookSuggestionDto;
+import com.bookstore.bookstore.dto.BookDto.BookTitleDto;
+import com.bookstore.bookstore.entity.Book;
+import com.bookstore.bookstore.repository.BookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory prefix index over the normalized names and original names of all books.
+ * <p>
+ * Titles are kept in a sorted map keyed by the normalized title followed by the book ID, so all titles
+ * starting with a prefix form one contiguous key range that is found by binary search and read in
+ * order; a lookup costs {@code O(log n + limit)} and never touches the database. The index is built at
+ * startup and updated after commit by the book write paths through {@link #put(Book)} and
+ * {@link #remove(Long)}. Reads are lock-free; writes to the same book are serialized.
+ * </p>
+ * <p>
+ * Metrics: {@code book.title-index.entries} and {@code book.title-index.estimated.bytes}, an estimate of
+ * the heap held by the index computed from the entry count and the stored characters.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BookTitleIndex implements SmartInitializingSingleton {
+
+    /**
+     * Separates the normalized title from the book ID in index keys; sorts before any title character.
+     */
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    /**
+     * Approximate fixed heap cost of one entry: skip list node and index levels, the key and title
+     * {@code String} headers and arrays, and the suggestion record.
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    private final BookRepository bookRepository;
+
+    private final ConcurrentSkipListMap<String, BookSuggestionDto> titles = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysByBookId = new ConcurrentHashMap<>();
+    private final AtomicLong storedChars = new AtomicLong();
+
+    @Autowired
+    public BookTitleIndex(BookRepository bookRepository, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        Gauge.builder("book.title-index.entries", titles, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("book.title-index.estimated.bytes", this, BookTitleIndex::estimatedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<BookTitleDto> books = bookRepository.findAllTitles();
+        books.forEach(book -> index(book.id(), book.name(), book.originalName()));
+        log.info("Book title index built with {} title(s) of {} book(s), about {} KiB",
+                titles.size(), books.size(), estimatedBytes() / 1024);
+    }
+
+    /**
+     * Returns up to {@code limit} books whose name or original name starts with the given prefix,
+     * ordered by the matched title. A book matching on both titles is returned once.
+     *
+     * @param prefix The case-insensitive title prefix.
+     * @param limit  The maximum number of suggestions.
+     * @return The matching suggestions.
+     */
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = SearchUtils.normalize(prefix);
+        if (normalized == null || normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, BookSuggestionDto> suggestions = new LinkedHashMap<>();
+        for (BookSuggestionDto suggestion : titles.subMap(normalized, true, normalized + Character.MAX_VALUE, true).values()) {
+            suggestions.putIfAbsent(suggestion.id(), suggestion);
+            if (suggestions.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(suggestions.values());
+    }
+
+    /**
+     * Indexes the titles of a created or updated book once the current transaction commits.
+     *
+     * @param book The saved book.
+     */
+    public void put(Book book) {
+        Long bookId = book.getId();
+        String name = book.getName();
+        String originalName = book.getOriginalName();
+        TransactionUtils.runAfterCommit(() -> index(bookId, name, originalName));
+    }
+
+    /**
+     * Removes the titles of a deleted book once the current transaction commits.
+     *
+     * @param bookId The ID of the deleted book.
+     */
+    public void remove(Long bookId) {
+        TransactionUtils.runAfterCommit(() -> keysByBookId.computeIfPresent(bookId, (id, keys) -> {
+            keys.forEach(this::removeKey);
+            return null;
+        }));
+    }
+
+    private void index(Long bookId, String name, String originalName) {
+        keysByBookId.compute(bookId, (id, previousKeys) -> {
+            if (previousKeys != null) {
+                previousKeys.forEach(this::removeKey);
+            }
+            List<String> keys = new ArrayList<>(2);
+            addTitle(keys, bookId, name);
+            if (!Objects.equals(SearchUtils.normalize(name), SearchUtils.normalize(originalName))) {
+                addTitle(keys, bookId, originalName);
+            }
+            return keys;
+        });
+    }
+
+    private void addTitle(List<String> keys, Long bookId, String title) {
+        String key = SearchUtils.normalize(title) + KEY_SEPARATOR + bookId;
+        if (titles.put(key, new BookSuggestionDto(bookId, title)) == null) {
+            storedChars.addAndGet(key.length() + title.length());
+        }
+        keys.add(key);
+    }
+
+    private void removeKey(String key) {
+        BookSuggestionDto removed = titles.remove(key);
+        if (removed != null) {
+            storedChars.addAndGet(-(key.length() + removed.title().length()));
+        }
+    }
+
+    private long estimatedBytes() {
+        return titles.size() * ENTRY_OVERHEAD_BYTES + storedChars.get();
+    }
+
+}
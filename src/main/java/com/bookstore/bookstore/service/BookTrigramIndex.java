@@ -0,0 +1,340 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.common.util.SearchUtils;
+import com.bookstore.bookstore.common.util.TransactionUtils;
+import com.bookstore.bookstore.dto.BookDto.BookSearchHitDto;
+import com.bookstore.bookstore.dto.BookDto.BookTitleDto;
+import com.bookstore.bookstore.entity.Book;
+import com.bookstore.bookstore.repository.BookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory trigram inverted index over the names and original names of all books, used for
+ * typo-tolerant search.
+ * <p>
+ * Each indexed title is a document with an {@code int} number; every trigram of the normalized, padded
+ * title maps to a sorted {@code int[]} posting list of the documents containing it. A query collects the
+ * postings of its own trigrams, counts the shared trigrams per document and ranks documents by
+ * similarity {@code shared / (query + title - shared)}, the Jaccard index of the two trigram sets.
+ * Documents below the minimum similarity are dropped.
+ * </p>
+ * <p>
+ * The index is built at startup and updated after commit by the book write paths through
+ * {@link #put(Book)} and {@link #remove(Long)}; queries never read the {@code book} table. Document
+ * numbers of removed titles are reused, so the index does not grow with updates.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BookTrigramIndex implements SmartInitializingSingleton {
+
+    private static final int INITIAL_DOCUMENTS = 1024;
+    private static final int INITIAL_POSTINGS = 4;
+
+    private final BookRepository bookRepository;
+    private final double minSimilarity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postingsByTrigram = new HashMap<>();
+    private final Map<Long, int[]> documentsByBookId = new HashMap<>();
+    private final ThreadLocal<MatchCounts> matchCounts = ThreadLocal.withInitial(MatchCounts::new);
+
+    private long[] documentBookIds = new long[INITIAL_DOCUMENTS];
+    private String[] documentTitles = new String[INITIAL_DOCUMENTS];
+    private int[] documentTrigramCounts = new int[INITIAL_DOCUMENTS];
+    private int[] freeDocuments = new int[INITIAL_DOCUMENTS];
+    private int freeDocumentCount;
+    private int documentCount;
+    private long postingCount;
+
+    @Autowired
+    public BookTrigramIndex(
+            BookRepository bookRepository,
+            MeterRegistry meterRegistry,
+
+            @Value("${book.fuzzy-search.min-similarity:0.3}")
+            double minSimilarity
+    ) {
+        this.bookRepository = bookRepository;
+        this.minSimilarity = minSimilarity;
+        Gauge.builder("book.trigram-index.trigrams", this, index -> index.read(index.postingsByTrigram::size))
+                .register(meterRegistry);
+        Gauge.builder("book.trigram-index.postings", this, index -> index.read(() -> index.postingCount))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<BookTitleDto> books = bookRepository.findAllTitles();
+        lock.writeLock().lock();
+        try {
+            books.forEach(book -> index(book.id(), book.name(), book.originalName()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book trigram index built with {} trigram(s) and {} posting(s) for {} book(s)",
+                postingsByTrigram.size(), postingCount, books.size());
+    }
+
+    /**
+     * Finds the books whose name or original name is most similar to the query.
+     * <p>
+     * Each book is returned once, with its best matching title, ordered by descending similarity.
+     * </p>
+     *
+     * @param query The search text, which may contain typos.
+     * @param limit The maximum number of results.
+     * @return The matching books.
+     */
+    public List<BookSearchHitDto> search(String query, int limit) {
+        Set<String> trigrams = trigrams(query);
+        if (trigrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<BookSearchHitDto> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            MatchCounts counts = matchCounts.get();
+            counts.ensureCapacity(documentCount);
+            int matched = 0;
+            for (String trigram : trigrams) {
+                Postings postings = postingsByTrigram.get(trigram);
+                if (postings == null) {
+                    continue;
+                }
+                for (int i = 0; i < postings.size; i++) {
+                    int document = postings.documents[i];
+                    if (counts.shared[document]++ == 0) {
+                        counts.matched[matched++] = document;
+                    }
+                }
+            }
+
+            Map<Long, BookSearchHitDto> bestByBookId = new HashMap<>();
+            for (int i = 0; i < matched; i++) {
+                int document = counts.matched[i];
+                int shared = counts.shared[document];
+                counts.shared[document] = 0;
+                double similarity = (double) shared / (trigrams.size() + documentTrigramCounts[document] - shared);
+                if (similarity >= minSimilarity) {
+                    long bookId = documentBookIds[document];
+                    BookSearchHitDto hit = new BookSearchHitDto(bookId, documentTitles[document], similarity);
+                    bestByBookId.merge(bookId, hit, (a, b) -> a.similarity() >= b.similarity() ? a : b);
+                }
+            }
+            hits.addAll(bestByBookId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(BookSearchHitDto::similarity).reversed()
+                .thenComparing(BookSearchHitDto::title));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Indexes the titles of a created or updated book once the current transaction commits.
+     *
+     * @param book The saved book.
+     */
+    public void put(Book book) {
+        Long bookId = book.getId();
+        String name = book.getName();
+        String originalName = book.getOriginalName();
+        TransactionUtils.runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                index(bookId, name, originalName);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes the titles of a deleted book once the current transaction commits.
+     *
+     * @param bookId The ID of the deleted book.
+     */
+    public void remove(Long bookId) {
+        TransactionUtils.runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void index(Long bookId, String name, String originalName) {
+        unindex(bookId);
+        if (originalName == null || Objects.equals(SearchUtils.normalize(name), SearchUtils.normalize(originalName))) {
+            documentsByBookId.put(bookId, new int[]{addDocument(bookId, name)});
+        } else {
+            documentsByBookId.put(bookId, new int[]{addDocument(bookId, name), addDocument(bookId, originalName)});
+        }
+    }
+
+    private void unindex(Long bookId) {
+        int[] documents = documentsByBookId.remove(bookId);
+        if (documents != null) {
+            for (int document : documents) {
+                removeDocument(document);
+            }
+        }
+    }
+
+    private int addDocument(long bookId, String title) {
+        int document = allocateDocument();
+        Set<String> trigrams = trigrams(title);
+        documentBookIds[document] = bookId;
+        documentTitles[document] = title;
+        documentTrigramCounts[document] = trigrams.size();
+        for (String trigram : trigrams) {
+            postingsByTrigram.computeIfAbsent(trigram, key -> new Postings()).add(document);
+        }
+        postingCount += trigrams.size();
+        return document;
+    }
+
+    private void removeDocument(int document) {
+        Set<String> trigrams = trigrams(documentTitles[document]);
+        for (String trigram : trigrams) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings != null && postings.remove(document) && postings.size == 0) {
+                postingsByTrigram.remove(trigram);
+            }
+        }
+        postingCount -= trigrams.size();
+        documentTitles[document] = null;
+        documentTrigramCounts[document] = 0;
+        if (freeDocumentCount == freeDocuments.length) {
+            freeDocuments = Arrays.copyOf(freeDocuments, freeDocuments.length * 2);
+        }
+        freeDocuments[freeDocumentCount++] = document;
+    }
+
+    private int allocateDocument() {
+        if (freeDocumentCount > 0) {
+            return freeDocuments[--freeDocumentCount];
+        }
+        if (documentCount == documentBookIds.length) {
+            int capacity = documentBookIds.length * 2;
+            documentBookIds = Arrays.copyOf(documentBookIds, capacity);
+            documentTitles = Arrays.copyOf(documentTitles, capacity);
+            documentTrigramCounts = Arrays.copyOf(documentTrigramCounts, capacity);
+        }
+        return documentCount++;
+    }
+
+    /**
+     * Returns the number of allocated document numbers, including free ones awaiting reuse.
+     */
+    int documentSlots() {
+        return read(() -> documentCount);
+    }
+
+    private <T> T read(Supplier<T> supplier) {
+        lock.readLock().lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits normalized text into its distinct trigrams, padded with two leading spaces and one trailing
+     * space, so that short words and word starts also produce trigrams.
+     */
+    static Set<String> trigrams(String text) {
+        String normalized = SearchUtils.normalize(text);
+        if (normalized == null || normalized.isEmpty()) {
+            return Set.of();
+        }
+        String padded = "  " + normalized.replaceAll("\\s+", " ") + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Per-thread scratch arrays for counting shared trigrams, indexed by document number and reused across
+     * queries, so a query costs one pass over its postings. Only the entries of matched documents are
+     * touched, and they are reset while the results are collected. Each searching thread holds eight bytes
+     * per document.
+     */
+    private static final class MatchCounts {
+
+        private int[] shared = new int[0];
+        private int[] matched = new int[0];
+
+        void ensureCapacity(int documents) {
+            if (shared.length < documents) {
+                shared = new int[documents];
+                matched = new int[documents];
+            }
+        }
+    }
+
+    /**
+     * Sorted posting list of document numbers backed by a growable {@code int} array.
+     */
+    static final class Postings {
+
+        private int[] documents = new int[INITIAL_POSTINGS];
+        private int size;
+
+        void add(int document) {
+            int position = Arrays.binarySearch(documents, 0, size, document);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            System.arraycopy(documents, insertAt, documents, insertAt + 1, size - insertAt);
+            documents[insertAt] = document;
+            size++;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(documents, size);
+        }
+
+        boolean remove(int document) {
+            int position = Arrays.binarySearch(documents, 0, size, document);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+
+}
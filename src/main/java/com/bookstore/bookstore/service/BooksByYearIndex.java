@@ -0,0 +1,152 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.common.util.TransactionUtils;
+import com.bookstore.bookstore.dto.BookDto.BookYearEntryDto;
+import com.bookstore.bookstore.entity.Book;
+import com.bookstore.bookstore.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of book names grouped by publication year.
+ * <p>
+ * The index is built once at startup from a column projection and then kept up to date by the book write
+ * paths through {@link #put(Book)} and {@link #remove(Long)}, which apply once the surrounding transaction
+ * commits. Only books with at least {@value #MIN_PAGE_COUNT} pages and at most {@value #MAX_ORIGINAL_NAME_WORDS}
+ * words in their original name are indexed. Names within a year are kept sorted, and the grouped view
+ * returned by {@link #snapshot()} is rebuilt lazily after a change, so repeated reads cost nothing.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BooksByYearIndex implements SmartInitializingSingleton {
+
+    private static final int MIN_PAGE_COUNT = 20;
+    private static final int MAX_ORIGINAL_NAME_WORDS = 3;
+
+    private record IndexedBook(int year, String name) {
+    }
+
+    private final BookRepository bookRepository;
+
+    private final Map<Long, IndexedBook> booksById = new HashMap<>();
+    private final TreeMap<Integer, TreeMap<String, Integer>> nameCountsByYear = new TreeMap<>();
+    private volatile Map<Integer, List<String>> snapshot;
+
+    @Autowired
+    public BooksByYearIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<BookYearEntryDto> entries = bookRepository.findAllYearEntries();
+        synchronized (this) {
+            for (BookYearEntryDto entry : entries) {
+                if (qualifies(entry.pageCount(), entry.originalName())) {
+                    add(entry.id(), new IndexedBook(entry.publicationYear(), entry.name()));
+                }
+            }
+            snapshot = null;
+        }
+        log.info("Books-by-year index built with {} of {} book(s)", booksById.size(), entries.size());
+    }
+
+    /**
+     * Returns the indexed book names grouped by publication year, years and names in ascending order.
+     *
+     * @return An unmodifiable map of publication year to book names.
+     */
+    public Map<Integer, List<String>> snapshot() {
+        Map<Integer, List<String>> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = buildSnapshot();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Indexes a created or updated book once the current transaction commits, replacing its previous entry.
+     * A book that no longer meets the page-count and word-count rules is removed from the index.
+     *
+     * @param book The saved book.
+     */
+    public void put(Book book) {
+        Long bookId = book.getId();
+        IndexedBook indexed = qualifies(book.getTotalPageCount(), book.getOriginalName())
+                ? new IndexedBook(book.getPublicationDate().getYear(), book.getName())
+                : null;
+
+        TransactionUtils.runAfterCommit(() -> {
+            synchronized (this) {
+                removeEntry(bookId);
+                if (indexed != null) {
+                    add(bookId, indexed);
+                }
+                snapshot = null;
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted book from the index once the current transaction commits.
+     *
+     * @param bookId The ID of the deleted book.
+     */
+    public void remove(Long bookId) {
+        TransactionUtils.runAfterCommit(() -> {
+            synchronized (this) {
+                removeEntry(bookId);
+                snapshot = null;
+            }
+        });
+    }
+
+    private static boolean qualifies(int pageCount, String originalName) {
+        return pageCount >= MIN_PAGE_COUNT && originalName.split("\\s+").length <= MAX_ORIGINAL_NAME_WORDS;
+    }
+
+    private void add(Long bookId, IndexedBook indexed) {
+        booksById.put(bookId, indexed);
+        nameCountsByYear.computeIfAbsent(indexed.year(), year -> new TreeMap<>())
+                .merge(indexed.name(), 1, Integer::sum);
+    }
+
+    private void removeEntry(Long bookId) {
+        IndexedBook previous = booksById.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        TreeMap<String, Integer> names = nameCountsByYear.get(previous.year());
+        names.computeIfPresent(previous.name(), (name, count) -> count > 1 ? count - 1 : null);
+        if (names.isEmpty()) {
+            nameCountsByYear.remove(previous.year());
+        }
+    }
+
+    private Map<Integer, List<String>> buildSnapshot() {
+        Map<Integer, List<String>> grouped = new LinkedHashMap<>();
+        nameCountsByYear.forEach((year, nameCounts) -> {
+            List<String> names = new ArrayList<>();
+            nameCounts.forEach((name, count) -> names.addAll(Collections.nCopies(count, name)));
+            grouped.put(year, Collections.unmodifiableList(names));
+        });
+        return Collections.unmodifiableMap(grouped);
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caching {@link UserDetailsService} in front of {@link CustomUserDetailsService}.
+ * <p>
+ * Users are cached in bounded in-process caches with a time-to-live, so the database-backed principal does
+ * not cost a {@code user} lookup on every request. The cache holds an immutable snapshot of the user's ID,
+ * username, password hash and authorities rather than the {@link User} entity, and every lookup builds a
+ * fresh {@link UserDetails} from it. Snapshots are cached by ID, and usernames are only mapped to IDs, so
+ * {@link #evict(User)} removes a user by ID whenever a user row changes. Cache statistics are published
+ * through Micrometer as the {@code users.by-id} and {@code users.by-username} caches.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final CustomUserDetailsService customUserDetailsService;
+    private final Cache<Long, CachedUser> usersById;
+    private final Cache<String, Long> userIdsByUsername;
+
+    @Autowired
+    public CachedUserDetailsService(
+            CustomUserDetailsService customUserDetailsService,
+
+            @Value("${security.user-cache.enabled:true}")
+            boolean enabled,
+
+            @Value("${security.user-cache.ttl:10m}")
+            Duration ttl,
+
+            @Value("${security.user-cache.max-size:1000}")
+            long maximumSize,
+
+            MeterRegistry meterRegistry
+    ) {
+        this.customUserDetailsService = customUserDetailsService;
+        this.usersById = enabled ? createCache(ttl, maximumSize, meterRegistry, "users.by-id") : null;
+        this.userIdsByUsername = enabled ? createCache(ttl, maximumSize, meterRegistry, "users.by-username") : null;
+    }
+
+    /**
+     * Loads a user by username, serving it from the cache when present.
+     *
+     * @param username The username of the user.
+     * @return A {@link UserDetails} object containing user information.
+     * @throws UsernameNotFoundException if a user with the specified username does not exist.
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (usersById == null) {
+            return CachedUser.of(customUserDetailsService.loadUserByUsername(username)).toUserDetails();
+        }
+
+        Long id = userIdsByUsername.get(username, name -> {
+            CachedUser loaded = CachedUser.of(customUserDetailsService.loadUserByUsername(name));
+            usersById.put(loaded.id(), loaded);
+            return loaded.id();
+        });
+
+        CachedUser cached = usersById.get(id, this::loadById);
+        if (!cached.username().equals(username)) {
+            // The user was renamed since the username was mapped to its ID
+            userIdsByUsername.invalidate(username);
+            return CachedUser.of(customUserDetailsService.loadUserByUsername(username)).toUserDetails();
+        }
+        return cached.toUserDetails();
+    }
+
+    /**
+     * Loads a user by user ID, serving it from the cache when present.
+     *
+     * @param id The ID of the user.
+     * @return A {@link UserDetails} object containing user information.
+     * @throws UsernameNotFoundException if a user with the specified ID does not exist.
+     */
+    public UserDetails loadUserById(Long id) {
+        if (usersById == null) {
+            return loadById(id).toUserDetails();
+        }
+        return usersById.get(id, this::loadById).toUserDetails();
+    }
+
+    /**
+     * Evicts the cached snapshot of the given user.
+     * <p>
+     * Usernames only map to user IDs, so removing the snapshot by ID also invalidates a username mapping
+     * stored under a previous username; the mapping of the current username is dropped as well.
+     * </p>
+     *
+     * @param user The user whose cached entries should be evicted.
+     */
+    public void evict(User user) {
+        if (usersById == null) {
+            return;
+        }
+        usersById.invalidate(user.getId());
+        userIdsByUsername.invalidate(user.getUsername());
+        log.debug("Evicted cached user details for user ID: {}", user.getId());
+    }
+
+    /**
+     * Evicts all cached users.
+     */
+    public void evictAll() {
+        if (usersById == null) {
+            return;
+        }
+        usersById.invalidateAll();
+        userIdsByUsername.invalidateAll();
+    }
+
+    private CachedUser loadById(Long id) {
+        return CachedUser.of(customUserDetailsService.loadUserById(id));
+    }
+
+    private static <K, V> Cache<K, V> createCache(Duration ttl, long maximumSize,
+                                                  MeterRegistry meterRegistry, String name) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    /**
+     * Immutable snapshot of the user fields needed to build the principal.
+     */
+    private record CachedUser(Long id, String username, String password, List<GrantedAuthority> authorities) {
+
+        static CachedUser of(UserDetails userDetails) {
+            User user = (User) userDetails;
+            return new CachedUser(user.getId(), user.getUsername(), user.getPassword(),
+                    List.copyOf(user.getAuthorities()));
+        }
+
+        UserDetails toUserDetails() {
+            return org.springframework.security.core.userdetails.User.withUsername(username)
+                    .password(password)
+                    .authorities(authorities)
+                    .build();
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.bookstore.bookstore.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service that maintains the catalog-wide version used as the ETag of book listings.
+ * <p>
+ * The version is the sum of the counters in {@code catalog_version}, which holds one row per slot.
+ * Every book write path calls {@link #bump(Long)}, which increments the slot of the changed book once
+ * per transaction, right before it commits. Writes to books in different slots therefore do not queue
+ * on the same row lock, while writes to the same book are already serialized by its own row.
+ * </p>
+ * <p>
+ * Before the increment, pending entity changes are flushed, so every transaction locks its {@code book}
+ * rows before its counter row. Paths that update books with bulk statements lock in that order anyway;
+ * a transaction that locked the counter first could deadlock with them.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CatalogVersionService {
+
+    private static final int SLOTS = 16;
+
+    private static final String SELECT_VERSION_SQL = "SELECT COALESCE(SUM(version), 0) FROM catalog_version";
+    private static final String BUMP_VERSION_SQL = "UPDATE catalog_version SET version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public CatalogVersionService(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Returns the current catalog version.
+     *
+     * @return The number of committed catalog changes.
+     */
+    public long currentVersion() {
+        Long version = jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Increments the catalog version as part of the current transaction, right before it commits.
+     * Repeated calls within one transaction increment the version once, in the slot of the first book.
+     * Without an active transaction the version is incremented immediately.
+     *
+     * @param bookId The ID of the changed book, which selects the counter slot.
+     */
+    public void bump(Long bookId) {
+        int slot = slotOf(bookId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(BUMP_VERSION_SQL, slot);
+            return;
+        }
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(BumpBeforeCommit.class::isInstance);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new BumpBeforeCommit(slot));
+        }
+    }
+
+    private static int slotOf(Long bookId) {
+        return bookId != null ? (int) Math.floorMod(bookId, (long) SLOTS) + 1 : 1;
+    }
+
+    private final class BumpBeforeCommit implements TransactionSynchronization {
+
+        private final int slot;
+
+        private BumpBeforeCommit(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Lock the changed book rows before the counter row, see the class documentation
+            entityManager.flush();
+            jdbcTemplate.update(BUMP_VERSION_SQL, slot);
+            log.debug("Catalog version bumped in slot {}", slot);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.bookstore.bookstore.service;
 
+import com.bookstore.bookstore.common.util.SearchUtils;
 import com.bookstore.bookstore.dto.CustomerDto.CustomerDto;
 import com.bookstore.bookstore.entity.Customer;
 import com.bookstore.bookstore.mapper.CustomerMapper;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -51,4 +53,21 @@ public class CustomerService {
 
     }
 
+    /**
+     * Streams customers whose first names start with the specified letter, ordered by first and last name.
+     * If no letter is provided, all customers are streamed.
+     * <p>
+     * The stream reads the database row by row and must be consumed and closed inside the caller's transaction.
+     * </p>
+     *
+     * @param letter an optional, case-insensitive prefix of the customers' first names
+     * @return a stream of {@link CustomerDto}
+     */
+    public Stream<CustomerDto> streamCustomers(String letter) {
+
+        log.info("Streaming customers with filter startsWith: {}", letter);
+
+        return customerRepository.streamByFirstNameStartingWith(SearchUtils.escapeLike(SearchUtils.normalize(letter)));
+    }
+
 }
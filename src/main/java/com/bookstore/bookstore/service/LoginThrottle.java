@@ -0,0 +1,149 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory throttle for login attempts, keyed by username and by client IP.
+ * <p>
+ * Each key has a sliding-window counter: the estimate is the count of the current fixed window plus the
+ * count of the previous window weighted by how much of it still overlaps the sliding window. Counters are
+ * updated with a compare-and-set loop, so no locks are taken on the login path, and they live in a
+ * size-bounded map whose idle entries expire, so a flood of distinct usernames or addresses cannot grow
+ * memory without limit. Rejected attempts are not counted, so a throttled client recovers once the
+ * window slides past its earlier attempts.
+ * </p>
+ * <p>
+ * Rejections are counted by the {@code security.login-throttle.rejected} counter, tagged by key type.
+ * </p>
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxAttemptsPerUsername;
+    private final int maxAttemptsPerIp;
+    private final Cache<String, SlidingWindowCounter> counters;
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+
+    @Autowired
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+
+            @Value("${security.login-throttle.enabled:true}")
+            boolean enabled,
+
+            @Value("${security.login-throttle.window-seconds:60}")
+            long windowSeconds,
+
+            @Value("${security.login-throttle.max-attempts-per-username:10}")
+            int maxAttemptsPerUsername,
+
+            @Value("${security.login-throttle.max-attempts-per-ip:50}")
+            int maxAttemptsPerIp,
+
+            @Value("${security.login-throttle.max-keys:100000}")
+            long maxKeys
+    ) {
+        this.enabled = enabled;
+        this.windowMillis = windowSeconds * 1000;
+        this.maxAttemptsPerUsername = maxAttemptsPerUsername;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(windowMillis * 2))
+                .build();
+        this.usernameRejections = meterRegistry.counter("security.login-throttle.rejected", "key", "username");
+        this.ipRejections = meterRegistry.counter("security.login-throttle.rejected", "key", "ip");
+    }
+
+    /**
+     * Records a login attempt, or rejects it if the client IP or the username is over its limit.
+     *
+     * @param username The username the client is trying to log in as.
+     * @param clientIp The address of the client.
+     * @throws TooManyLoginAttemptsException if either limit is exceeded.
+     */
+    public void acquire(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+
+        if (clientIp != null && !counterFor("ip:" + clientIp).tryAcquire(now, maxAttemptsPerIp)) {
+            ipRejections.increment();
+            throw new TooManyLoginAttemptsException(retryAfterSeconds(now));
+        }
+
+        String usernameKey = "user:" + username.toLowerCase(Locale.ROOT);
+        if (!counterFor(usernameKey).tryAcquire(now, maxAttemptsPerUsername)) {
+            usernameRejections.increment();
+            throw new TooManyLoginAttemptsException(retryAfterSeconds(now));
+        }
+    }
+
+    private SlidingWindowCounter counterFor(String key) {
+        return counters.get(key, k -> new SlidingWindowCounter(windowMillis));
+    }
+
+    private long retryAfterSeconds(long now) {
+        long untilNextWindow = windowMillis - Math.floorMod(now, windowMillis);
+        return Math.max(1, (untilNextWindow + 999) / 1000);
+    }
+
+    /**
+     * Lock-free sliding-window counter built on an immutable window snapshot swapped with compare-and-set.
+     */
+    private static final class SlidingWindowCounter {
+
+        private record Window(long start, int current, int previous) {
+        }
+
+        private final long windowMillis;
+        private final AtomicReference<Window> window = new AtomicReference<>(new Window(0, 0, 0));
+
+        private SlidingWindowCounter(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        boolean tryAcquire(long now, int limit) {
+            long start = now - Math.floorMod(now, windowMillis);
+            while (true) {
+                Window observed = window.get();
+                Window rolled = roll(observed, start);
+
+                double overlap = 1.0 - (double) (now - start) / windowMillis;
+                double estimate = rolled.previous() * overlap + rolled.current();
+                if (estimate + 1 > limit) {
+                    return false;
+                }
+
+                Window updated = new Window(rolled.start(), rolled.current() + 1, rolled.previous());
+                if (window.compareAndSet(observed, updated)) {
+                    return true;
+                }
+            }
+        }
+
+        private Window roll(Window observed, long start) {
+            if (observed.start() == start) {
+                return observed;
+            }
+            int previous = observed.start() == start - windowMillis ? observed.current() : 0;
+            return new Window(start, 0, previous);
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded pool for BCrypt password hashing and verification.
+ * <p>
+ * BCrypt is deliberately CPU-expensive, so running it on request threads lets a burst of logins starve
+ * every other endpoint. This pool has one thread per core and a bounded queue; when the queue is full,
+ * or a queued task is not picked up by a worker within the wait timeout, the caller gets a
+ * {@link ServiceOverloadedException} (503 with {@code Retry-After}) instead of waiting without limit.
+ * A task that times out in the queue is removed from it and never runs. The timeout covers only the time
+ * spent in the queue: once a worker has started hashing, the caller waits for the result, because a
+ * running BCrypt computation cannot be interrupted and abandoning it would waste the work.
+ * </p>
+ * <p>
+ * Metrics: {@code security.password-hashing.queue.size} (gauge),
+ * {@code security.password-hashing.duration} (timer with percentile histogram, time spent hashing) and
+ * {@code security.password-hashing.rejected} (counter).
+ * </p>
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMillis;
+    private final long retryAfterSeconds;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public PasswordHashingExecutor(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+
+            @Value("${security.password-hashing.threads:0}")
+            int threads,
+
+            @Value("${security.password-hashing.queue-capacity:64}")
+            int queueCapacity,
+
+            @Value("${security.password-hashing.wait-timeout-ms:2000}")
+            long waitTimeoutMillis,
+
+            @Value("${security.password-hashing.retry-after-seconds:1}")
+            long retryAfterSeconds
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.hashTimer = Timer.builder("security.password-hashing.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("security.password-hashing.rejected");
+        meterRegistry.gauge("security.password-hashing.queue.size", executor.getQueue(), BlockingQueue::size);
+
+        log.info("Password hashing pool started with {} thread(s) and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Verifies a raw password against its stored hash on the hashing pool.
+     *
+     * @param rawPassword     The password supplied by the user.
+     * @param encodedPassword The stored password hash.
+     * @return true if the password matches the hash.
+     * @throws ServiceOverloadedException if the pool is saturated.
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     *
+     * @param rawPassword The password to hash.
+     * @return The encoded password.
+     * @throws ServiceOverloadedException if the pool is saturated.
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks whether a stored hash should be re-encoded with the current encoder settings.
+     *
+     * @param encodedPassword The stored password hash.
+     * @return true if the hash should be re-encoded.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> callable) {
+        HashingTask<T> task = new HashingTask<>(() -> hashTimer.recordCallable(callable));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw reject("queue full");
+        }
+
+        try {
+            if (!task.awaitStart(waitTimeoutMillis) && task.abandon()) {
+                executor.remove(task);
+                throw reject("wait timeout exceeded");
+            }
+            return task.get();
+        } catch (InterruptedException e) {
+            if (task.abandon()) {
+                executor.remove(task);
+            }
+            Thread.currentThread().interrupt();
+            throw reject("interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceOverloadedException reject(String reason) {
+        rejectedCounter.increment();
+        log.warn("Password hashing request rejected: {}", reason);
+        return new ServiceOverloadedException(retryAfterSeconds);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Task that is either started by a worker or abandoned by its caller, never both.
+     */
+    private static final class HashingTask<T> extends FutureTask<T> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private HashingTask(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            started.countDown();
+            super.run();
+        }
+
+        boolean awaitStart(long timeoutMillis) throws InterruptedException {
+            return started.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * @return true if the task had not been started and now never will be.
+         */
+        boolean abandon() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+}
@@ -31,26 +31,34 @@ public class SaleService {
     private final BookRepository bookRepository;
     private final CustomerRepository customerRepository;
     private final SaleMapper saleMapper;
+    private final BookDetailsCache bookDetailsCache;
+    private final CatalogVersionService catalogVersionService;
 
     @Autowired
     public SaleService(
             SaleRepository saleRepository,
             BookRepository bookRepository,
             CustomerRepository customerRepository,
-            SaleMapper saleMapper
+            SaleMapper saleMapper,
+            BookDetailsCache bookDetailsCache,
+            CatalogVersionService catalogVersionService
     ) {
         this.saleRepository = saleRepository;
         this.bookRepository = bookRepository;
         this.customerRepository = customerRepository;
         this.saleMapper = saleMapper;
+        this.bookDetailsCache = bookDetailsCache;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
      * Creates a new sale in the bookstore system.
      * <p>
      * This method takes a {@code CreateSaleDto} object containing essential details for the sale and performs
-     * a series of actions to complete the sale process. It verifies that the specified book and customer exist,
-     * maps the sale information to a {@code Sale} entity, and persists the sale in the database.
+     * a series of actions to complete the sale process. It verifies that the specified customer exists, takes one
+     * copy of the book with a single conditional update, maps the sale information to a {@code Sale} entity, and
+     * persists the sale in the database. Because the stock check and the decrement are one statement, concurrent
+     * sales of the last copy cannot both succeed.
      * Upon successful creation, it returns a {@code SaleDto} representing the sale, with details such as
      * sale ID, purchase date, and other sale attributes.
      * </p>
@@ -60,6 +68,7 @@ public class SaleService {
      *         book ID, customer ID, purchase date, sale price, and employee code.
      * @throws BookNotFoundException if the specified book is not found in the system.
      * @throws CustomerNotFoundException if the specified customer is not found in the system.
+     * @throws IllegalStateException if the book has no copies left.
      */
     public SaleDto createSale(CreateSaleDto createSaleDto) {
 
@@ -67,29 +76,28 @@ public class SaleService {
                 createSaleDto.getBookId(), createSaleDto.getCustomerId());
         log.debug("Received createSaleDto: {}", createSaleDto);
 
-        Book book = bookRepository.findById(createSaleDto.getBookId())
-                .orElseThrow(() -> new BookNotFoundException(createSaleDto.getBookId()));
-
-        log.debug("Fetched book details: {}", book);
-
-        if (book.getAvailableCopies() <= 0) {
-            throw new IllegalStateException("Insufficient copies available for sale.");
-        }
-
         Customer customer = customerRepository.findById(createSaleDto.getCustomerId())
                 .orElseThrow(() -> new CustomerNotFoundException(createSaleDto.getCustomerId()));
 
         log.debug("Fetched customer details: {}", customer);
 
+        Long bookId = createSaleDto.getBookId();
+        if (bookRepository.decrementAvailableCopies(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new BookNotFoundException(bookId);
+            }
+            throw new IllegalStateException("Insufficient copies available for sale.");
+        }
+        bookDetailsCache.evict(bookId);
+        catalogVersionService.bump(bookId);
+
+        Book book = bookRepository.getReferenceById(bookId);
         Sale sale = saleMapper.createSaleDtoToSale(createSaleDto, book, customer);
         log.debug("Mapped Sale entity from CreateSaleDto: {}", sale);
 
         saleRepository.save(sale);
         log.info("Sale saved with ID: {}", sale.getId());
 
-        book.setAvailableCopies(book.getAvailableCopies() - 1);
-        bookRepository.save(book);
-
         SaleDto saleDto = saleMapper.saleToSaleDto(sale);
         log.debug("Mapped SaleDto from Sale entity: {}", saleDto);
 
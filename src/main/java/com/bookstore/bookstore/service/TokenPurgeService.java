@@ -0,0 +1,149 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.dto.AuthDto.ExpiredTokenDto;
+import com.bookstore.bookstore.repository.AccessTokenRepository;
+import com.bookstore.bookstore.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service that periodically deletes expired access and refresh tokens.
+ * <p>
+ * Expired rows are walked in {@code (expires_at, id)} keyset order and deleted in small chunks, each in
+ * its own short transaction, with a pause between chunks and a cap on the total runtime of a run, so the
+ * purge never holds locks for long. Refresh tokens are purged first; an expired access token is only
+ * deleted once no refresh token references it anymore. The number of rows purged per run is published
+ * as the {@code token.purge.rows} distribution summary, tagged by table.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TokenPurgeService {
+
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID KEYSET_START_ID = new UUID(0, 0);
+
+    private final AccessTokenRepository accessTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final long maxRuntimeMillis;
+    private final DistributionSummary accessTokensPurged;
+    private final DistributionSummary refreshTokensPurged;
+
+    @Autowired
+    public TokenPurgeService(
+            AccessTokenRepository accessTokenRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+
+            @Value("${token.purge.enabled:true}")
+            boolean enabled,
+
+            @Value("${token.purge.chunk-size:500}")
+            int chunkSize,
+
+            @Value("${token.purge.chunk-pause-ms:100}")
+            long chunkPauseMillis,
+
+            @Value("${token.purge.max-runtime-ms:60000}")
+            long maxRuntimeMillis
+    ) {
+        this.accessTokenRepository = accessTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMillis = chunkPauseMillis;
+        this.maxRuntimeMillis = maxRuntimeMillis;
+        this.accessTokensPurged = meterRegistry.summary("token.purge.rows", "table", "access_token");
+        this.refreshTokensPurged = meterRegistry.summary("token.purge.rows", "table", "refresh_token");
+    }
+
+    /**
+     * Deletes expired refresh tokens and then expired, unreferenced access tokens.
+     * <p>
+     * The run stops early once the configured maximum runtime is reached; the remaining rows are
+     * picked up by the next run.
+     * </p>
+     */
+    @Scheduled(
+            initialDelayString = "${token.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${token.purge.interval-ms:3600000}"
+    )
+    public void purgeExpiredTokens() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long deadline = System.currentTimeMillis() + maxRuntimeMillis;
+
+        int refreshTokens = purge(deadline, (afterExpiresAt, afterId) ->
+                refreshTokenRepository.findExpiredChunk(now, afterExpiresAt, afterId, Pageable.ofSize(chunkSize)),
+                refreshTokenRepository::deleteAllByIds);
+        refreshTokensPurged.record(refreshTokens);
+
+        int accessTokens = purge(deadline, (afterExpiresAt, afterId) ->
+                accessTokenRepository.findExpiredChunk(now, afterExpiresAt, afterId, Pageable.ofSize(chunkSize)),
+                accessTokenRepository::deleteAllByIds);
+        accessTokensPurged.record(accessTokens);
+
+        log.info("Purged {} expired refresh token(s) and {} expired access token(s)", refreshTokens, accessTokens);
+    }
+
+    private int purge(long deadline, ChunkFinder finder, ChunkDeleter deleter) {
+        LocalDateTime afterExpiresAt = KEYSET_START;
+        UUID afterId = KEYSET_START_ID;
+        int purged = 0;
+
+        while (System.currentTimeMillis() < deadline) {
+            List<ExpiredTokenDto> chunk = finder.find(afterExpiresAt, afterId);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            purged += deleter.delete(chunk.stream().map(ExpiredTokenDto::getId).toList());
+
+            ExpiredTokenDto last = chunk.get(chunk.size() - 1);
+            afterExpiresAt = last.getExpiresAt();
+            afterId = last.getId();
+
+            if (chunk.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkFinder {
+        List<ExpiredTokenDto> find(LocalDateTime afterExpiresAt, UUID afterId);
+    }
+
+    @FunctionalInterface
+    private interface ChunkDeleter {
+        int delete(List<UUID> ids);
+    }
+
+}
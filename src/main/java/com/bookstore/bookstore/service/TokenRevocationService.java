@@ -0,0 +1,191 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.common.util.BloomFilter;
+import com.bookstore.bookstore.common.util.TransactionUtils;
+import com.bookstore.bookstore.dto.AuthDto.RevokedTokenDto;
+import com.bookstore.bookstore.repository.AccessTokenRepository;
+import com.bookstore.bookstore.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that tracks revoked access tokens in memory and revokes tokens on logout.
+ * <p>
+ * Revoked token IDs ({@code jti}) are held in a concurrent map fronted by a {@link BloomFilter}, so the
+ * common case of a token that was never revoked is answered without touching the map or the database.
+ * The index is kept in sync with the {@code access_token} table by a periodic incremental load of rows
+ * whose {@code updated_at} is past the last seen watermark, and entries are dropped once the token expires.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AccessTokenRepository accessTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenWriteBehindQueue tokenWriteBehindQueue;
+    private final int bloomExpectedEntries;
+    private final long syncOverlapMillis;
+
+    private final Map<String, LocalDateTime> revokedTokens = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter bloomFilter;
+    private volatile int bloomCapacity;
+    private LocalDateTime watermark = INITIAL_WATERMARK;
+
+    @Autowired
+    public TokenRevocationService(
+            AccessTokenRepository accessTokenRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            TokenWriteBehindQueue tokenWriteBehindQueue,
+
+            @Value("${token.revocation.bloom-expected-entries:100000}")
+            int bloomExpectedEntries,
+
+            @Value("${token.revocation.sync-overlap-ms:60000}")
+            long syncOverlapMillis
+    ) {
+        this.accessTokenRepository = accessTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenWriteBehindQueue = tokenWriteBehindQueue;
+        this.bloomExpectedEntries = bloomExpectedEntries;
+        this.syncOverlapMillis = syncOverlapMillis;
+        this.bloomCapacity = bloomExpectedEntries;
+        this.bloomFilter = new BloomFilter(bloomExpectedEntries, BLOOM_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Checks whether the access token with the given ID has been revoked.
+     *
+     * @param tokenId The {@code jti} of the access token.
+     * @return true if the token is known to be revoked; false otherwise.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes a single access token and the refresh token issued with it.
+     * <p>
+     * The token is added to the local index once the transaction commits; other instances pick it up
+     * on their next synchronization. A token pair still waiting in {@link TokenWriteBehindQueue} is
+     * written first, so the revocation updates its rows.
+     * </p>
+     *
+     * @param tokenId   The {@code jti} of the access token to revoke.
+     * @param expiresAt The expiration time of the access token.
+     */
+    @Transactional
+    public void revokeToken(String tokenId, LocalDateTime expiresAt) {
+        UUID accessTokenId = UUID.fromString(tokenId);
+
+        // Before any statement of this transaction: see TokenWriteBehindQueue.flushIfPending
+        tokenWriteBehindQueue.flushIfAccessTokenPending(accessTokenId);
+
+        LocalDateTime now = LocalDateTime.now();
+        accessTokenRepository.revokeById(accessTokenId, now);
+        refreshTokenRepository.revokeByAccessTokenId(accessTokenId, now);
+
+        TransactionUtils.runAfterCommit(() -> register(tokenId, expiresAt));
+        log.info("Revoked access token with ID: {}", tokenId);
+    }
+
+    /**
+     * Revokes every access and refresh token of the given user with one bulk update per table.
+     * <p>
+     * Token pairs of the user still waiting in {@link TokenWriteBehindQueue} are written first.
+     * </p>
+     *
+     * @param userId The ID of the user whose sessions are revoked.
+     * @return The number of revoked access tokens.
+     */
+    @Transactional
+    public int revokeAllSessions(Long userId) {
+        // Before any statement of this transaction: see TokenWriteBehindQueue.flushIfPending
+        tokenWriteBehindQueue.flushIfUserHasPending(userId);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<RevokedTokenDto> activeTokens = accessTokenRepository.findActiveByUserId(userId, now);
+        int revoked = accessTokenRepository.revokeAllByUserId(userId, now);
+        refreshTokenRepository.revokeAllByUserId(userId, now);
+
+        TransactionUtils.runAfterCommit(() ->
+                activeTokens.forEach(token -> register(token.getId().toString(), token.getExpiresAt())));
+        log.info("Revoked {} access token(s) for user ID: {}", revoked, userId);
+
+        return revoked;
+    }
+
+    /**
+     * Loads tokens revoked since the last synchronization into the local index and drops expired entries.
+     * <p>
+     * The query re-reads a small overlap before the watermark, so rows written by instances with a
+     * slightly skewed clock are not missed; re-reading a row is harmless.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${token.revocation.sync-interval-ms:30000}")
+    public void syncRevokedTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = watermark.minusNanos(syncOverlapMillis * 1_000_000);
+
+        List<RevokedTokenDto> tokens = accessTokenRepository.findRevokedSince(since, now);
+        for (RevokedTokenDto token : tokens) {
+            register(token.getId().toString(), token.getExpiresAt());
+            if (token.getUpdatedAt().isAfter(watermark)) {
+                watermark = token.getUpdatedAt();
+            }
+        }
+
+        int removed = removeExpired(now);
+        log.debug("Revocation index synchronized: {} loaded, {} expired, {} tracked",
+                tokens.size(), removed, revokedTokens.size());
+    }
+
+    private void register(String tokenId, LocalDateTime expiresAt) {
+        synchronized (writeLock) {
+            if (revokedTokens.put(tokenId, expiresAt) == null && revokedTokens.size() > bloomCapacity) {
+                rebuildBloomFilter();
+            } else {
+                bloomFilter.put(tokenId);
+            }
+        }
+    }
+
+    private int removeExpired(LocalDateTime now) {
+        synchronized (writeLock) {
+            int before = revokedTokens.size();
+            revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            int removed = before - revokedTokens.size();
+            if (removed > 0) {
+                rebuildBloomFilter();
+            }
+            return removed;
+        }
+    }
+
+    private void rebuildBloomFilter() {
+        int capacity = Math.max(bloomExpectedEntries, revokedTokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, BLOOM_FALSE_POSITIVE_RATE);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomCapacity = capacity;
+        bloomFilter = rebuilt;
+    }
+
+}
@@ -28,16 +28,48 @@ public class TokenService {
     private final AccessTokenRepository accessTokenRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtUtil jwtUtil;
+    private final TokenWriteBehindQueue tokenWriteBehindQueue;
 
     @Autowired
     public TokenService (
             AccessTokenRepository accessTokenRepository,
             RefreshTokenRepository refreshTokenRepository,
-            JwtUtil jwtUtil
+            JwtUtil jwtUtil,
+            TokenWriteBehindQueue tokenWriteBehindQueue
     ) {
         this.accessTokenRepository = accessTokenRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.jwtUtil = jwtUtil;
+        this.tokenWriteBehindQueue = tokenWriteBehindQueue;
+    }
+
+    /**
+     * Creates an access token entity and its refresh token entity for a given user.
+     * <p>
+     * When write-behind is enabled, both entities get their IDs up front and are handed to
+     * {@link TokenWriteBehindQueue} to be inserted in a later batch. If write-behind is disabled or its
+     * queue is full, both entities are saved synchronously, as with {@link #createAccessTokenEntity(User)}
+     * and {@link #createRefreshTokenEntity(AccessToken)}.
+     * </p>
+     *
+     * @param user The user for whom the tokens are created.
+     * @return The created {@link RefreshToken} entity, referencing the created {@link AccessToken}.
+     */
+    public RefreshToken createTokenEntities(User user) {
+
+        if (tokenWriteBehindQueue.isEnabled()) {
+            AccessToken accessTokenEntity = buildAccessTokenEntity(user);
+            accessTokenEntity.initializeIdIfNotSet();
+
+            RefreshToken refreshTokenEntity = buildRefreshTokenEntity(accessTokenEntity);
+            refreshTokenEntity.initializeIdIfNotSet();
+
+            if (tokenWriteBehindQueue.offer(refreshTokenEntity)) {
+                return refreshTokenEntity;
+            }
+        }
+
+        return createRefreshTokenEntity(createAccessTokenEntity(user));
     }
 
     /**
@@ -53,12 +85,7 @@ public class TokenService {
      */
     public<T> AccessToken createAccessTokenEntity(User user) {
 
-        AccessToken accessTokenEntity = new AccessToken();
-
-        accessTokenEntity.setUser(user);
-        accessTokenEntity.setExpiresAt(LocalDateTime.now().plus(jwtUtil.getAccessTokenExpiration(), ChronoUnit.MILLIS));
-        accessTokenEntity.setCreatedAt(LocalDateTime.now());
-        accessTokenEntity.setUpdatedAt(LocalDateTime.now());
+        AccessToken accessTokenEntity = buildAccessTokenEntity(user);
 
         accessTokenEntity = accessTokenRepository.save(accessTokenEntity);
         return accessTokenEntity;
@@ -78,15 +105,34 @@ public class TokenService {
      */
     public RefreshToken createRefreshTokenEntity(AccessToken accessTokenEntity) {
 
+        RefreshToken refreshTokenEntity = buildRefreshTokenEntity(accessTokenEntity);
+
+        refreshTokenEntity = refreshTokenRepository.save(refreshTokenEntity);
+        return refreshTokenEntity;
+
+    }
+
+    private AccessToken buildAccessTokenEntity(User user) {
+
+        AccessToken accessTokenEntity = new AccessToken();
+
+        accessTokenEntity.setUser(user);
+        accessTokenEntity.setExpiresAt(LocalDateTime.now().plus(jwtUtil.getAccessTokenExpiration(), ChronoUnit.MILLIS));
+        accessTokenEntity.setCreatedAt(LocalDateTime.now());
+        accessTokenEntity.setUpdatedAt(LocalDateTime.now());
+
+        return accessTokenEntity;
+    }
+
+    private RefreshToken buildRefreshTokenEntity(AccessToken accessTokenEntity) {
+
         RefreshToken refreshTokenEntity = new RefreshToken();
         refreshTokenEntity.setAccessToken(accessTokenEntity);
         refreshTokenEntity.setExpiresAt(LocalDateTime.now().plus(jwtUtil.getRefreshTokenExpiration(), ChronoUnit.MILLIS));
         refreshTokenEntity.setCreatedAt(LocalDateTime.now());
         refreshTokenEntity.setUpdatedAt(LocalDateTime.now());
 
-        refreshTokenEntity = refreshTokenRepository.save(refreshTokenEntity);
         return refreshTokenEntity;
-
     }
 
 }
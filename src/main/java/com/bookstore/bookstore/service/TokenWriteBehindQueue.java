@@ -0,0 +1,287 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.common.util.UuidUtils;
+import com.bookstore.bookstore.entity.AccessToken;
+import com.bookstore.bookstore.entity.RefreshToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind queue for the token rows created at login.
+ * <p>
+ * When enabled, {@link TokenService} hands each new access/refresh token pair to this queue instead of
+ * inserting it inside the login transaction. A background thread writes queued pairs in JDBC batches,
+ * flushing as soon as a full batch is queued and otherwise every flush interval.
+ * </p>
+ * <p>
+ * Durability: a pair is acknowledged to the client before its rows are written, so rows still queued
+ * when the process dies, or in a batch whose insert fails, are lost. The JWTs of such a session keep
+ * working until they expire, but the refresh token cannot be exchanged and the session cannot be
+ * revoked by token ID on other instances. A pair that is still queued when its session is refreshed or
+ * logged out is written first, see {@link #flushIfPending(UUID)}, {@link #flushIfAccessTokenPending(UUID)}
+ * and {@link #flushIfUserHasPending(Long)}, so the refresh or revocation never misses its rows and the
+ * rows are never inserted after it as active. On graceful shutdown the queue stops accepting pairs and is
+ * drained before the application context closes. When the queue is full, callers fall back to a
+ * synchronous insert, so a burst never loses rows.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenWriteBehindQueue implements SmartLifecycle {
+
+    private static final String INSERT_ACCESS_TOKEN_SQL =
+            "INSERT INTO access_token (id, user_id, is_revoked, expires_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REFRESH_TOKEN_SQL =
+            "INSERT INTO refresh_token (id, access_token_id, is_revoked, expires_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long shutdownTimeoutMillis;
+    private final BlockingQueue<RefreshToken> queue;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    private final Set<UUID> pendingRefreshTokenIds = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingAccessTokenIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> pendingPairsByUserId = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public TokenWriteBehindQueue(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+
+            @Value("${token.write-behind.enabled:false}")
+            boolean enabled,
+
+            @Value("${token.write-behind.batch-size:100}")
+            int batchSize,
+
+            @Value("${token.write-behind.flush-interval-ms:200}")
+            long flushIntervalMillis,
+
+            @Value("${token.write-behind.queue-capacity:10000}")
+            int queueCapacity,
+
+            @Value("${token.write-behind.shutdown-timeout-ms:10000}")
+            long shutdownTimeoutMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // flush() may be called from inside a request transaction; batches must commit on their own
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writtenCounter = meterRegistry.counter("token.write-behind.pairs", "result", "written");
+        this.droppedCounter = meterRegistry.counter("token.write-behind.pairs", "result", "dropped");
+        meterRegistry.gauge("token.write-behind.queue.size", queue, BlockingQueue::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a refresh token and the access token it references for a batched insert.
+     *
+     * @param refreshToken The refresh token to persist; its access token is persisted first.
+     * @return true if the pair was queued; false if the queue is disabled, stopped or full,
+     *         in which case the caller must persist the tokens itself.
+     */
+    public boolean offer(RefreshToken refreshToken) {
+        if (!enabled || !running) {
+            return false;
+        }
+        markPending(refreshToken);
+        if (!queue.offer(refreshToken)) {
+            clearPending(refreshToken);
+            return false;
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Writes every queued pair on the calling thread.
+     * <p>
+     * Flushes are serialized, so once this method returns every pair queued before the call has been
+     * written, including pairs a concurrent flush was already writing. Used when a token row must be
+     * visible right away, for example before a refresh token is exchanged.
+     * </p>
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        List<RefreshToken> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes every queued pair if the given refresh token has not been written yet.
+     * <p>
+     * A token stays pending until the batch holding it is written or dropped, so this also waits for a
+     * flush that is writing it right now. Must be called before the caller's transaction touches the
+     * token row: an update of a row that does not exist yet locks the gap it would be inserted into,
+     * and the batch insert, which runs on another connection, would then wait on that lock.
+     * </p>
+     *
+     * @param refreshTokenId The ID of the refresh token.
+     */
+    public void flushIfPending(UUID refreshTokenId) {
+        if (pendingRefreshTokenIds.contains(refreshTokenId)) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every queued pair if the pair of the given access token has not been written yet.
+     * <p>
+     * Same contract as {@link #flushIfPending(UUID)}; used before the access token is revoked.
+     * </p>
+     *
+     * @param accessTokenId The ID of the access token.
+     */
+    public void flushIfAccessTokenPending(UUID accessTokenId) {
+        if (pendingAccessTokenIds.contains(accessTokenId)) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every queued pair if any pair of the given user has not been written yet.
+     * <p>
+     * Same contract as {@link #flushIfPending(UUID)}; used before every session of the user is revoked.
+     * </p>
+     *
+     * @param userId The ID of the user.
+     */
+    public void flushIfUserHasPending(Long userId) {
+        if (pendingPairsByUserId.containsKey(userId)) {
+            flush();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Token write-behind started with batch size {} and flush interval {} ms", batchSize, flushIntervalMillis);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Token write-behind stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void write(List<RefreshToken> batch) {
+        try {
+            writeBatch(batch);
+        } finally {
+            batch.forEach(this::clearPending);
+        }
+    }
+
+    private void markPending(RefreshToken refreshToken) {
+        pendingRefreshTokenIds.add(refreshToken.getId());
+        pendingAccessTokenIds.add(refreshToken.getAccessToken().getId());
+        pendingPairsByUserId.merge(refreshToken.getAccessToken().getUser().getId(), 1, Integer::sum);
+    }
+
+    private void clearPending(RefreshToken refreshToken) {
+        pendingRefreshTokenIds.remove(refreshToken.getId());
+        pendingAccessTokenIds.remove(refreshToken.getAccessToken().getId());
+        pendingPairsByUserId.computeIfPresent(refreshToken.getAccessToken().getUser().getId(),
+                (userId, pending) -> pending > 1 ? pending - 1 : null);
+    }
+
+    private void writeBatch(List<RefreshToken> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_ACCESS_TOKEN_SQL, batch, batch.size(), (ps, refreshToken) -> {
+                    AccessToken accessToken = refreshToken.getAccessToken();
+                    ps.setBytes(1, UuidUtils.toBytes(accessToken.getId()));
+                    ps.setLong(2, accessToken.getUser().getId());
+                    ps.setBoolean(3, accessToken.getIsRevoked());
+                    ps.setTimestamp(4, Timestamp.valueOf(accessToken.getExpiresAt()));
+                    ps.setTimestamp(5, Timestamp.valueOf(accessToken.getCreatedAt()));
+                    ps.setTimestamp(6, Timestamp.valueOf(accessToken.getUpdatedAt()));
+                });
+                jdbcTemplate.batchUpdate(INSERT_REFRESH_TOKEN_SQL, batch, batch.size(), (ps, refreshToken) -> {
+                    ps.setBytes(1, UuidUtils.toBytes(refreshToken.getId()));
+                    ps.setBytes(2, UuidUtils.toBytes(refreshToken.getAccessToken().getId()));
+                    ps.setBoolean(3, refreshToken.getIsRevoked());
+                    ps.setTimestamp(4, Timestamp.valueOf(refreshToken.getExpiresAt()));
+                    ps.setTimestamp(5, Timestamp.valueOf(refreshToken.getCreatedAt()));
+                    ps.setTimestamp(6, Timestamp.valueOf(refreshToken.getUpdatedAt()));
+                });
+            });
+            writtenCounter.increment(batch.size());
+            log.debug("Wrote {} token pair(s)", batch.size());
+        } catch (RuntimeException e) {
+            droppedCounter.increment(batch.size());
+            log.error("Failed to write {} token pair(s): {}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.bookstore.bookstore.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks that the book list filters stay sargable: MySQL must use an index for each of them.
+ * <p>
+ * The tests run {@link BookRepository#findAllWithFilters} and capture the SQL and parameters Hibernate
+ * actually sends, then EXPLAIN that statement with the same parameters. They fail if the repository
+ * query, the search columns or their indexes change so that the filter needs a full table scan. The
+ * filter values match no rows, so the optimizer picks the index even on the small sample data set.
+ * </p>
+ */
+@SpringBootTest
+class BookSearchPlanTests {
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void clearCapturedStatements() {
+		CapturedStatement.ALL.clear();
+	}
+
+	@Test
+	void namePrefixFilterUsesAnIndex() {
+		bookRepository.findAllWithFilters("zzqx", null, null, PageRequest.of(0, 20));
+
+		assertUsesIndex(explainBookQuery());
+	}
+
+	@Test
+	void yearFilterUsesAnIndex() {
+		bookRepository.findAllWithFilters(null, null, 1066, PageRequest.of(0, 20));
+
+		assertUsesIndex(explainBookQuery());
+	}
+
+	private Map<String, Object> explainBookQuery() {
+		CapturedStatement statement = CapturedStatement.ALL.stream()
+				.filter(captured -> captured.sql().toLowerCase().contains("from book"))
+				.filter(captured -> !captured.sql().toLowerCase().contains("count("))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("no book query was executed"));
+
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters().toArray());
+		assertFalse(rows.isEmpty());
+		return rows.get(0);
+	}
+
+	private void assertUsesIndex(Map<String, Object> plan) {
+		assertNotEquals("ALL", plan.get("type"), "expected no full table scan, plan: " + plan);
+		assertNotNull(plan.get("key"), "expected an index to be used, plan: " + plan);
+	}
+
+	/**
+	 * A prepared statement executed through the application's data source, with its bound parameters.
+	 */
+	record CapturedStatement(String sql, List<Object> parameters) {
+
+		static final List<CapturedStatement> ALL = new CopyOnWriteArrayList<>();
+	}
+
+	/**
+	 * Wraps the data source so that every executed prepared statement is recorded in {@link CapturedStatement#ALL}.
+	 */
+	@TestConfiguration
+	static class StatementCaptureConfig {
+
+		@Bean
+		static BeanPostProcessor statementCapturingDataSource() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof DataSource dataSource)) {
+						return bean;
+					}
+					return proxy(DataSource.class, dataSource, (method, result, args) ->
+							result instanceof Connection connection ? proxyConnection(connection) : result);
+				}
+			};
+		}
+
+		private static Connection proxyConnection(Connection connection) {
+			return proxy(Connection.class, connection, (method, result, args) ->
+					method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement
+							? proxyStatement(statement, (String) args[0])
+							: result);
+		}
+
+		private static PreparedStatement proxyStatement(PreparedStatement statement, String sql) {
+			Map<Integer, Object> parameters = new TreeMap<>();
+			return proxy(PreparedStatement.class, statement, (method, result, args) -> {
+				String name = method.getName();
+				if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+					parameters.put(index, name.equals("setNull") ? null : args[1]);
+				} else if (name.equals("executeQuery")) {
+					CapturedStatement.ALL.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+				}
+				return result;
+			});
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+			return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+				try {
+					return handler.handle(method, method.invoke(target, args), args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			});
+		}
+
+		@FunctionalInterface
+		private interface ResultHandler {
+			Object handle(Method method, Object result, Object[] args);
+		}
+	}
+
+}
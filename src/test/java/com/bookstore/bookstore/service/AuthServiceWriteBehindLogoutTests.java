@@ -0,0 +1,114 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.common.enums.UserRole;
+import com.bookstore.bookstore.common.util.JwtUtil;
+import com.bookstore.bookstore.common.util.UuidUtils;
+import com.bookstore.bookstore.dto.AuthDto.AuthResponseDto;
+import com.bookstore.bookstore.dto.AuthDto.LoginDto;
+import com.bookstore.bookstore.dto.AuthDto.RefreshTokenDto;
+import com.bookstore.bookstore.entity.User;
+import com.bookstore.bookstore.exception.InvalidRefreshTokenException;
+import com.bookstore.bookstore.repository.AuthRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Logs out right after a login whose token pair is still waiting in the write-behind queue, and checks
+ * that the revocation reaches the pair: its rows are written revoked and its refresh token is rejected.
+ */
+@SpringBootTest(properties = {
+		"token.write-behind.enabled=true",
+		"token.write-behind.flush-interval-ms=600000",
+		"token.write-behind.batch-size=1000"
+})
+class AuthServiceWriteBehindLogoutTests {
+
+	private static final String PASSWORD = "write-behind-test";
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private AuthRepository authRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long userId;
+	private String username;
+
+	@BeforeEach
+	void setUp() {
+		username = "write-behind-" + UUID.randomUUID().toString().substring(0, 8);
+
+		User user = new User();
+		user.setFirstName("Write");
+		user.setLastName("Behind");
+		user.setUsername(username);
+		user.setEmail(username + "@test.com");
+		user.setPassword(passwordEncoder.encode(PASSWORD));
+		user.setUserRole(UserRole.ADMIN);
+		userId = authRepository.save(user).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE r FROM refresh_token r JOIN access_token a ON a.id = r.access_token_id WHERE a.user_id = ?", userId);
+		jdbcTemplate.update("DELETE FROM access_token WHERE user_id = ?", userId);
+		jdbcTemplate.update("DELETE FROM user WHERE id = ?", userId);
+	}
+
+	@Test
+	void logoutRightAfterLoginRejectsRefreshToken() {
+		AuthResponseDto login = authService.loginUser(new LoginDto(username, PASSWORD), "127.0.0.1");
+		Claims claims = jwtUtil.parseClaims(login.getAccessToken(), jwtUtil.getAccessTokenSecret());
+		assertEquals(0, countAccessTokens(claims.getId()), "the token pair should still be queued");
+
+		authService.logout(claims);
+
+		assertEquals(1, countRevokedAccessTokens(claims.getId()));
+		assertThrows(InvalidRefreshTokenException.class,
+				() -> authService.refreshTokens(new RefreshTokenDto(login.getRefreshToken())));
+	}
+
+	@Test
+	void logoutAllSessionsRightAfterLoginRejectsRefreshToken() {
+		AuthResponseDto login = authService.loginUser(new LoginDto(username, PASSWORD), "127.0.0.1");
+		Claims claims = jwtUtil.parseClaims(login.getAccessToken(), jwtUtil.getAccessTokenSecret());
+		assertEquals(0, countAccessTokens(claims.getId()), "the token pair should still be queued");
+
+		assertEquals(1, authService.logoutAllSessions(claims));
+
+		assertEquals(1, countRevokedAccessTokens(claims.getId()));
+		assertThrows(InvalidRefreshTokenException.class,
+				() -> authService.refreshTokens(new RefreshTokenDto(login.getRefreshToken())));
+	}
+
+	private int countAccessTokens(String tokenId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access_token WHERE id = ?",
+				Integer.class, UuidUtils.toBytes(UUID.fromString(tokenId)));
+	}
+
+	private int countRevokedAccessTokens(String tokenId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access_token WHERE id = ? AND is_revoked = TRUE",
+				Integer.class, UuidUtils.toBytes(UUID.fromString(tokenId)));
+	}
+
+}
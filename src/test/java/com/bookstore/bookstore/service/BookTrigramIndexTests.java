@@ -0,0 +1,122 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.dto.BookDto.BookSearchHitDto;
+import com.bookstore.bookstore.dto.BookDto.BookTitleDto;
+import com.bookstore.bookstore.entity.Book;
+import com.bookstore.bookstore.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory trigram index; no database or application context is needed.
+ */
+class BookTrigramIndexTests {
+
+	private SimpleMeterRegistry meterRegistry;
+	private BookTrigramIndex index;
+
+	@BeforeEach
+	void setUp() {
+		BookRepository bookRepository = mock(BookRepository.class);
+		when(bookRepository.findAllTitles()).thenReturn(List.of(
+				new BookTitleDto(1L, "The Divine Comedy", "Divina Commedia"),
+				new BookTitleDto(2L, "War and Peace", "Voyna i mir"),
+				new BookTitleDto(3L, "The Trial", "The Trial")));
+
+		meterRegistry = new SimpleMeterRegistry();
+		index = new BookTrigramIndex(bookRepository, meterRegistry, 0.3);
+		index.afterSingletonsInstantiated();
+	}
+
+	@Test
+	void findsTitleDespiteTypos() {
+		List<BookSearchHitDto> hits = index.search("divine comdy", 10);
+
+		assertFalse(hits.isEmpty());
+		assertEquals(1L, hits.get(0).id());
+		assertEquals("The Divine Comedy", hits.get(0).title());
+	}
+
+	@Test
+	void ranksExactMatchFirstAndReturnsEachBookOnce() {
+		List<BookSearchHitDto> hits = index.search("the trial", 10);
+
+		assertEquals(3L, hits.get(0).id());
+		assertEquals(1.0, hits.get(0).similarity(), 1e-9);
+		assertEquals(1, hits.stream().filter(hit -> hit.id() == 3L).count());
+	}
+
+	@Test
+	void updateReplacesOldTitles() {
+		index.put(book(2L, "Anna Karenina", "Anna Karenina"));
+
+		assertTrue(index.search("war and peace", 10).stream().noneMatch(hit -> hit.id() == 2L));
+		assertEquals(2L, index.search("anna karenina", 10).get(0).id());
+	}
+
+	@Test
+	void removeDropsAllTitlesOfTheBook() {
+		index.remove(1L);
+
+		assertTrue(index.search("divine comedy", 10).stream().noneMatch(hit -> hit.id() == 1L));
+		assertTrue(index.search("divina commedia", 10).stream().noneMatch(hit -> hit.id() == 1L));
+	}
+
+	@Test
+	void reusesDocumentNumbersAndReleasesPostings() {
+		int slots = index.documentSlots();
+		double postings = meterRegistry.get("book.trigram-index.postings").gauge().value();
+
+		for (int i = 0; i < 100; i++) {
+			index.put(book(1L, "The Divine Comedy " + i, "Divina Commedia " + i));
+			index.put(book(1L, "The Divine Comedy", "Divina Commedia"));
+		}
+		assertEquals(slots, index.documentSlots());
+		assertEquals(postings, meterRegistry.get("book.trigram-index.postings").gauge().value());
+
+		index.put(book(4L, "Crime and Punishment", "Crime and Punishment"));
+		index.remove(4L);
+		index.put(book(5L, "Anna Karenina", "Anna Karenina"));
+		index.remove(5L);
+
+		assertEquals(slots + 1, index.documentSlots());
+		assertEquals(postings, meterRegistry.get("book.trigram-index.postings").gauge().value());
+		assertEquals(1L, index.search("divine comedy", 10).get(0).id());
+	}
+
+	@Test
+	void postingsStaySortedAndDistinct() {
+		BookTrigramIndex.Postings postings = new BookTrigramIndex.Postings();
+		for (int document : new int[]{7, 3, 9, 3, 1, 12, 5, 7}) {
+			postings.add(document);
+		}
+
+		assertArrayEquals(new int[]{1, 3, 5, 7, 9, 12}, postings.toArray());
+
+		assertTrue(postings.remove(1));
+		assertTrue(postings.remove(12));
+		assertTrue(postings.remove(5));
+		assertFalse(postings.remove(4));
+
+		assertArrayEquals(new int[]{3, 7, 9}, postings.toArray());
+	}
+
+	private static Book book(Long id, String name, String originalName) {
+		Book book = new Book();
+		book.setId(id);
+		book.setName(name);
+		book.setOriginalName(originalName);
+		return book;
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.bookstore.bookstore.service;
+
+import com.bookstore.bookstore.dto.SaleDto.CreateSaleDto;
+import com.bookstore.bookstore.entity.Book;
+import com.bookstore.bookstore.entity.Customer;
+import com.bookstore.bookstore.repository.BookRepository;
+import com.bookstore.bookstore.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs many concurrent sales of a book with few copies and checks that exactly as many sales succeed
+ * as there were copies: the conditional decrement must neither oversell nor lose a decrement.
+ */
+@SpringBootTest
+class SaleServiceConcurrencyTests {
+
+	private static final int COPIES = 5;
+	private static final int THREADS = 64;
+
+	@Autowired
+	private SaleService saleService;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long bookId;
+	private Long customerId;
+
+	@BeforeEach
+	void setUp() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+		Book book = new Book();
+		book.setName("Concurrency Test " + suffix);
+		book.setOriginalName("Concurrency Test " + suffix);
+		book.setTotalPageCount(100);
+		book.setIsbn("TEST-" + suffix);
+		book.setPublicationDate(LocalDate.of(2000, 1, 1));
+		book.setAvailableCopies(COPIES);
+		book.setGenre("Test");
+		bookId = bookRepository.save(book).getId();
+
+		Customer customer = new Customer();
+		customer.setFirstName("Concurrency");
+		customer.setLastName("Test");
+		customer.setAddress("Test Street 1");
+		customer.setEmail("concurrency-" + suffix + "@test.com");
+		customerId = customerRepository.save(customer).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM sale WHERE book_id = ?", bookId);
+		jdbcTemplate.update("DELETE FROM book WHERE id = ?", bookId);
+		jdbcTemplate.update("DELETE FROM customer WHERE id = ?", customerId);
+	}
+
+	@Test
+	void concurrentSalesNeverOversell() throws Exception {
+		long versionBefore = jdbcTemplate.queryForObject("SELECT version FROM book WHERE id = ?", Long.class, bookId);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger sold = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						saleService.createSale(new CreateSaleDto(bookId, customerId, 10.0, "AB123C"));
+						sold.incrementAndGet();
+					} catch (IllegalStateException e) {
+						rejected.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(COPIES, sold.get());
+		assertEquals(THREADS - COPIES, rejected.get());
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT available_copies FROM book WHERE id = ?", Integer.class, bookId));
+		assertEquals(COPIES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale WHERE book_id = ?", Integer.class, bookId));
+		long versionAfter = jdbcTemplate.queryForObject("SELECT version FROM book WHERE id = ?", Long.class, bookId);
+		assertEquals(versionBefore + COPIES, versionAfter, "expected one version increment per sale");
+	}
+
+}